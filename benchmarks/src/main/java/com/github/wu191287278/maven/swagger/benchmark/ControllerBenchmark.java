@@ -0,0 +1,50 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.IOException;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.wu191287278.maven.swagger.doc.visitor.RestVisitorAdapter;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * RestVisitorAdapter 遍历一个包含 24 个接口的控制器的耗时, 包括参数、返回值中泛型 dto 的解析.
+ * 每次使用新的 visitor, 相当于一个模块中第一次遇到这些类型
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ControllerBenchmark {
+
+    private SourceFixture fixture;
+
+    private CompilationUnit controller;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = SourceFixture.extract("shop", SourceFixture.SHOP);
+        controller = fixture.get("ShopController");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void visit(Blackhole blackhole) {
+        RestVisitorAdapter restVisitorAdapter = new RestVisitorAdapter();
+        Swagger swagger = new Swagger().paths(new TreeMap<>());
+        controller.accept(restVisitorAdapter, swagger);
+        blackhole.consume(swagger);
+        blackhole.consume(restVisitorAdapter.getModelMap());
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.github.wu191287278.maven.swagger.doc.dependency.DependencyGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 向依赖图中插入约 10 万条继承关系以及按依赖顺序遍历全部关系的耗时:
+ * chain 为一条从底层往上插入的长继承链, diamond 为每层 100 个类型、每个类型继承下一层两个类型的菱形结构,
+ * random 为随机无环图并混入约 10% 会形成循环、需要被拒绝的边
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    @Param({"chain", "diamond", "random"})
+    public String shape;
+
+    @Param({"100000"})
+    public int edges;
+
+    private String[][] dependencies;
+
+    private DependencyGraph dependencyGraph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<String[]> list = new ArrayList<>();
+        Random random = new Random(42);
+        switch (shape) {
+            case "chain":
+                for (int i = edges - 1; i >= 0; i--) {
+                    list.add(new String[]{"Type" + i, "Type" + (i + 1)});
+                }
+                break;
+            case "diamond":
+                int width = 100;
+                for (int layer = 0; list.size() < edges; layer++) {
+                    for (int i = 0; i < width; i++) {
+                        list.add(new String[]{"Type" + layer + "_" + i, "Type" + (layer + 1) + "_" + i});
+                        list.add(new String[]{"Type" + layer + "_" + i, "Type" + (layer + 1) + "_" + ((i + 1) % width)});
+                    }
+                }
+                Collections.shuffle(list, random);
+                break;
+            default:
+                int nodes = edges / 5;
+                while (list.size() < edges) {
+                    int a = random.nextInt(nodes);
+                    int b = random.nextInt(nodes);
+                    if (a == b) {
+                        continue;
+                    }
+                    // 大约 10% 的边方向与拓扑序相反
+                    boolean back = random.nextInt(10) == 0;
+                    int parent = back ? Math.max(a, b) : Math.min(a, b);
+                    int child = back ? Math.min(a, b) : Math.max(a, b);
+                    list.add(new String[]{"Type" + parent, "Type" + child});
+                }
+                break;
+        }
+        dependencies = list.toArray(new String[0][]);
+        dependencyGraph = addDependency();
+    }
+
+    @Benchmark
+    public DependencyGraph addDependency() {
+        DependencyGraph graph = new DependencyGraph();
+        for (String[] dependency : dependencies) {
+            graph.addDependency(dependency[0], dependency[1]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public void visit(Blackhole blackhole) {
+        dependencyGraph.visit((name, dependency) -> blackhole.consume(dependency));
+    }
+}
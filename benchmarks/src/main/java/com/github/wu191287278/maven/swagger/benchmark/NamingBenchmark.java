@@ -0,0 +1,47 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.wu191287278.maven.swagger.doc.utils.CamelUtils;
+import com.github.wu191287278.maven.swagger.doc.visitor.ResolveSwaggerType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 每个属性、每个类型都会调用的小方法: 下划线模式的属性名转换, 以及基本类型的判断 (大部分类型名不是基本类型)
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NamingBenchmark {
+
+    private final String[] propertyNames = {
+            "id", "orderNo", "createdAt", "shippingAddress", "itemsByWarehouse",
+            "HTTPStatusCode", "userIDList", "zipCode", "x", "defaultAddressV2"
+    };
+
+    private final String[] typeNames = {
+            "int", "java.lang.String", "java.lang.Long", "java.math.BigDecimal", "java.time.LocalDateTime",
+            "java.util.Date", "com.demo.shop.dto.Order", "com.demo.shop.dto.Result<com.demo.shop.dto.Page<com.demo.shop.dto.Order>>",
+            "java.util.List<com.demo.shop.dto.OrderItem>", "java.util.Map<java.lang.String, java.lang.Object>"
+    };
+
+    @Benchmark
+    public void toSnake(Blackhole blackhole) {
+        for (String propertyName : propertyNames) {
+            blackhole.consume(CamelUtils.toSnake(propertyName));
+        }
+    }
+
+    @Benchmark
+    public void resolveBaseType(Blackhole blackhole) {
+        for (String typeName : typeNames) {
+            blackhole.consume(ResolveSwaggerType.resolveBaseType(typeName));
+        }
+    }
+}
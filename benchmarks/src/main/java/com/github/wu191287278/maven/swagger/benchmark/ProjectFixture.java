@@ -0,0 +1,228 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * 生成用于基准测试的多模块 Spring MVC 工程: 一个公共 dto 模块, 以及若干引用这些 dto 的控制器模块.
+ * 可以额外生成引用同一批 dto 的 JAX-RS 控制器, 并调整 dto 嵌套深度、返回值泛型嵌套层数、父类继承链长度和枚举数量
+ *
+ * @author yu.wu
+ */
+public class ProjectFixture {
+
+    private int modules = 8;
+
+    private int controllers = 4;
+
+    private int endpoints = 5;
+
+    private int dtos = 20;
+
+    private int jaxRsControllers = 0;
+
+    private int dtoDepth = 0;
+
+    private int genericNesting = 1;
+
+    private int inheritance = 0;
+
+    private int enums = 0;
+
+    public ProjectFixture modules(int modules) {
+        this.modules = modules;
+        return this;
+    }
+
+    public ProjectFixture controllers(int controllers) {
+        this.controllers = controllers;
+        return this;
+    }
+
+    public ProjectFixture endpoints(int endpoints) {
+        this.endpoints = endpoints;
+        return this;
+    }
+
+    public ProjectFixture dtos(int dtos) {
+        this.dtos = dtos;
+        return this;
+    }
+
+    public ProjectFixture jaxRsControllers(int jaxRsControllers) {
+        this.jaxRsControllers = jaxRsControllers;
+        return this;
+    }
+
+    /**
+     * 每条 dto 引用链的长度, Dto(i) 引用 Dto(i-1) 直到 i 是 dtoDepth 的倍数. 小于等于0时所有 dto 连成一条链
+     */
+    public ProjectFixture dtoDepth(int dtoDepth) {
+        this.dtoDepth = dtoDepth;
+        return this;
+    }
+
+    /**
+     * 查询接口返回值的泛型层数, 1 为 Result&lt;Dto&gt;, 2 为 Result&lt;Page&lt;Dto&gt;&gt;, 之后 Result 与 Page 交替
+     */
+    public ProjectFixture genericNesting(int genericNesting) {
+        this.genericNesting = genericNesting;
+        return this;
+    }
+
+    /**
+     * 所有 dto 共同继承的父类链长度, 0 表示没有父类
+     */
+    public ProjectFixture inheritance(int inheritance) {
+        this.inheritance = inheritance;
+        return this;
+    }
+
+    /**
+     * 枚举数量, dto 按编号引用其中一个
+     */
+    public ProjectFixture enums(int enums) {
+        this.enums = enums;
+        return this;
+    }
+
+    /**
+     * 生成的接口数, 每个 endpoint 包含一个查询和一个提交接口
+     */
+    public int operations() {
+        return modules * (controllers + jaxRsControllers) * endpoints * 2;
+    }
+
+    public File generate() throws IOException {
+        File root = Files.createTempDirectory("swagger-fixture").toFile();
+        generate(root);
+        return root;
+    }
+
+    public void generate(File root) throws IOException {
+        File common = new File(root, "common/src/main/java/com/demo/common");
+        for (int i = 0; i < dtos; i++) {
+            write(new File(common, "Dto" + i + ".java"), dto(i));
+        }
+        write(new File(common, "Result.java"), "package com.demo.common;\n\n"
+                + "/** 通用返回 */\n"
+                + "public class Result<T> {\n"
+                + "    /** 状态码 */\n    private int code;\n"
+                + "    /** 消息 */\n    private String message;\n"
+                + "    /** 数据 */\n    private T data;\n"
+                + "}\n");
+        if (genericNesting > 1) {
+            write(new File(common, "Page.java"), "package com.demo.common;\n\nimport java.util.List;\n\n"
+                    + "/** 分页 */\n"
+                    + "public class Page<T> {\n"
+                    + "    /** 总数 */\n    private long total;\n"
+                    + "    /** 数据 */\n    private List<T> items;\n"
+                    + "}\n");
+        }
+        for (int i = 0; i < inheritance; i++) {
+            write(new File(common, "Base" + i + ".java"), "package com.demo.common;\n\n"
+                    + "/** Base" + i + " */\n"
+                    + "public class Base" + i + (i > 0 ? " extends Base" + (i - 1) : "") + " {\n"
+                    + "    /** 基类字段" + i + " */\n    private String base" + i + ";\n"
+                    + "}\n");
+        }
+        for (int i = 0; i < enums; i++) {
+            write(new File(common, "Status" + i + ".java"), "package com.demo.common;\n\n"
+                    + "/** Status" + i + " */\n"
+                    + "public enum Status" + i + " {\n"
+                    + "    CREATED, ACTIVE, SUSPENDED, CLOSED\n"
+                    + "}\n");
+        }
+        for (int m = 0; m < modules; m++) {
+            File module = new File(root, "module" + m + "/src/main/java/com/demo/module" + m);
+            for (int c = 0; c < controllers; c++) {
+                write(new File(module, "Controller" + c + ".java"), controller(m, c));
+            }
+            for (int c = 0; c < jaxRsControllers; c++) {
+                write(new File(module, "Resource" + c + ".java"), resource(m, c));
+            }
+        }
+    }
+
+    private String dto(int i) {
+        StringBuilder sb = new StringBuilder("package com.demo.common;\n\nimport java.util.List;\n\n");
+        sb.append("/** Dto").append(i).append(" */\n");
+        sb.append("public class Dto").append(i);
+        if (inheritance > 0) {
+            sb.append(" extends Base").append(inheritance - 1);
+        }
+        sb.append(" {\n");
+        sb.append("    /** 主键 */\n    private Long id;\n");
+        sb.append("    /** 名称 */\n    private String name;\n");
+        if (enums > 0) {
+            sb.append("    /** 状态 */\n    private Status").append(i % enums).append(" status;\n");
+        }
+        if (i > 0 && (dtoDepth <= 0 || i % dtoDepth != 0)) {
+            sb.append("    /** 子对象 */\n    private Dto").append(i - 1).append(" child;\n");
+            sb.append("    /** 列表 */\n    private List<Dto").append(i - 1).append("> children;\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String controller(int module, int controller) {
+        StringBuilder sb = new StringBuilder("package com.demo.module").append(module).append(";\n\n");
+        sb.append("import java.util.List;\nimport com.demo.common.*;\n\n");
+        sb.append("/** Controller").append(controller).append(" */\n");
+        sb.append("@RestController\n@RequestMapping(\"/m").append(module).append("/c").append(controller).append("\")\n");
+        sb.append("public class Controller").append(controller).append(" {\n");
+        for (int e = 0; e < endpoints; e++) {
+            int dto = (module + controller + e) % dtos;
+            sb.append("\n    /**\n     * endpoint ").append(e).append("\n     * @param id 主键\n     */\n");
+            sb.append("    @GetMapping(\"/e").append(e).append("/{id}\")\n");
+            sb.append("    public ").append(wrap(dto)).append(" get").append(e)
+                    .append("(@PathVariable(\"id\") Long id) {\n        return null;\n    }\n");
+            sb.append("\n    @PostMapping(\"/e").append(e).append("\")\n");
+            sb.append("    public List<Dto").append(dto).append("> post").append(e)
+                    .append("(@RequestBody Dto").append(dto).append(" body) {\n        return null;\n    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String resource(int module, int resource) {
+        StringBuilder sb = new StringBuilder("package com.demo.module").append(module).append(";\n\n");
+        sb.append("import java.util.List;\nimport com.demo.common.*;\n\n");
+        sb.append("/** Resource").append(resource).append(" */\n");
+        sb.append("@Path(\"/m").append(module).append("/r").append(resource).append("\")\n");
+        sb.append("public class Resource").append(resource).append(" {\n");
+        for (int e = 0; e < endpoints; e++) {
+            int dto = (module + resource + e) % dtos;
+            sb.append("\n    /**\n     * endpoint ").append(e).append("\n     * @param id 主键\n     */\n");
+            sb.append("    @GET\n    @Path(\"/e").append(e).append("\")\n");
+            sb.append("    public ").append(wrap(dto)).append(" get").append(e)
+                    .append("(@QueryParam(\"id\") Long id) {\n        return null;\n    }\n");
+            sb.append("\n    @POST\n    @Path(\"/e").append(e).append("\")\n");
+            sb.append("    public List<Dto").append(dto).append("> post").append(e)
+                    .append("(Dto").append(dto).append(" body) {\n        return null;\n    }\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String wrap(int dto) {
+        String type = "Dto" + dto;
+        for (int i = Math.max(1, genericNesting) - 1; i >= 0; i--) {
+            type = (i % 2 == 0 ? "Result<" : "Page<") + type + ">";
+        }
+        return type;
+    }
+
+    private void write(File file, String content) throws IOException {
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void delete(File root) {
+        FileUtils.deleteQuietly(root);
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 多模块工程完整解析耗时. 所有模块共用一个类型解析器后, 公共 dto 只在第一个模块中解析,
+ * 耗时应随模块数近似线性增长而不是每个模块都重新解析一遍公共代码
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ReactorParseBenchmark {
+
+    @Param({"1", "8", "32"})
+    public int modules;
+
+    private File root;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = new ProjectFixture()
+                .modules(modules)
+                .controllers(4)
+                .endpoints(5)
+                .dtos(20)
+                .generate();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ProjectFixture.delete(root);
+    }
+
+    @Benchmark
+    public Map<String, Swagger> parse() {
+        return new SwaggerDocs().parse(root.getAbsolutePath(), "", "", new ArrayList<>(), c -> {
+        });
+    }
+}
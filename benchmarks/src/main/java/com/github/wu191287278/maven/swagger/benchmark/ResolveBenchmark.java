@@ -0,0 +1,64 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.type.Type;
+import com.github.wu191287278.maven.swagger.doc.visitor.ResolveSwaggerType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 解析 GenericTypes 中多层嵌套泛型字段的耗时. cold 每次使用新的 ResolveSwaggerType, 包含 dto 及其父类的完整解析;
+ * cached 复用同一个实例, 只测量解析缓存命中后的拷贝
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResolveBenchmark {
+
+    private SourceFixture fixture;
+
+    private List<Type> types;
+
+    private ResolveSwaggerType cachedResolver;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        fixture = SourceFixture.extract("shop", SourceFixture.SHOP);
+        types = fixture.get("GenericTypes").findAll(FieldDeclaration.class).stream()
+                .map(f -> f.getVariable(0).getType())
+                .collect(Collectors.toList());
+        cachedResolver = new ResolveSwaggerType();
+        types.forEach(cachedResolver::resolve);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.delete();
+    }
+
+    @Benchmark
+    public void cold(Blackhole blackhole) {
+        ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+        for (Type type : types) {
+            blackhole.consume(resolveSwaggerType.resolve(type));
+        }
+        blackhole.consume(resolveSwaggerType.getModelMap());
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        for (Type type : types) {
+            blackhole.consume(cachedResolver.resolve(type));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import cn.hutool.core.util.HexUtil;
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.SwaggerWriter;
+import io.swagger.models.Swagger;
+import org.apache.commons.io.output.NullOutputStream;
+
+/**
+ * 端到端生成的规模测试, 不经过 JMH: 按给定接口数生成同时包含 Spring MVC 与 JAX-RS 控制器的多模块工程,
+ * 执行 SwaggerDocs.parse, 记录耗时、堆内存峰值(生成过程中每 10ms 采样一次已用堆内存, 取最大值)
+ * 和输出大小, 并检查多次生成的输出完全一致.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.github.wu191287278.maven.swagger.benchmark.ScaleHarness 1000 10000 50000
+ * </pre>
+ * 工程结构可以用系统属性调整: controllers, jaxRsControllers, endpoints, dtos, dtoDepth, genericNesting, inheritance, enums;
+ * threads 为解析线程数 (默认与插件相同自动确定), runs 为每个规模的生成次数, output 为结果 csv 文件
+ *
+ * @author yu.wu
+ */
+public class ScaleHarness {
+
+    public static void main(String[] args) throws Exception {
+        int[] sizes = args.length == 0 ? new int[]{1000, 10000, 50000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+        int runs = Integer.getInteger("runs", 2);
+        String output = System.getProperty("output");
+
+        boolean deterministic = true;
+        try (Writer csv = output == null ? null : new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8)) {
+            if (csv != null) {
+                csv.write("operations,modules,run,wallMs,peakHeapMb,outputBytes,sha256\n");
+            }
+            System.out.printf("%10s %8s %4s %10s %12s %14s  %s%n", "operations", "modules", "run", "wall(ms)", "peakHeap(MB)", "output(bytes)", "sha256");
+            for (int size : sizes) {
+                ProjectFixture fixture = fixture(size);
+                File root = fixture.generate();
+                try {
+                    String first = null;
+                    for (int run = 1; run <= runs; run++) {
+                        Result result = run(root);
+                        System.out.printf("%10d %8d %4d %10d %12d %14d  %s%n", fixture.operations(), result.modules, run,
+                                result.wallMs, result.peakHeap / 1024 / 1024, result.outputBytes, result.sha256);
+                        if (csv != null) {
+                            csv.write(fixture.operations() + "," + result.modules + "," + run + "," + result.wallMs + ","
+                                    + result.peakHeap / 1024 / 1024 + "," + result.outputBytes + "," + result.sha256 + "\n");
+                            csv.flush();
+                        }
+                        if (first == null) {
+                            first = result.sha256;
+                        } else if (!first.equals(result.sha256)) {
+                            System.out.println("Output of run " + run + " differs from run 1");
+                            deterministic = false;
+                        }
+                    }
+                } finally {
+                    ProjectFixture.delete(root);
+                }
+            }
+        }
+        if (!deterministic) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 每个模块 controllers + jaxRsControllers 个控制器, 模块数按接口数确定
+     */
+    private static ProjectFixture fixture(int operations) {
+        int controllers = Integer.getInteger("controllers", 5);
+        int jaxRsControllers = Integer.getInteger("jaxRsControllers", 5);
+        int endpoints = Integer.getInteger("endpoints", 10);
+        int perModule = (controllers + jaxRsControllers) * endpoints * 2;
+        return new ProjectFixture()
+                .modules(Math.max(1, (operations + perModule - 1) / perModule))
+                .controllers(controllers)
+                .jaxRsControllers(jaxRsControllers)
+                .endpoints(endpoints)
+                .dtos(Integer.getInteger("dtos", 50))
+                .dtoDepth(Integer.getInteger("dtoDepth", 5))
+                .genericNesting(Integer.getInteger("genericNesting", 3))
+                .inheritance(Integer.getInteger("inheritance", 3))
+                .enums(Integer.getInteger("enums", 5));
+    }
+
+    private static Result run(File root) throws IOException, NoSuchAlgorithmException, InterruptedException {
+        System.gc();
+
+        Map<String, Swagger> swaggerMap;
+        PrintStream out = System.out;
+        // parse 会逐个打印模块名
+        System.setOut(new PrintStream(new NullOutputStream()));
+        HeapSampler heapSampler = new HeapSampler();
+        heapSampler.start();
+        long start = System.nanoTime();
+        try {
+            SwaggerDocs swaggerDocs = new SwaggerDocs();
+            swaggerDocs.setThreads(Integer.getInteger("threads", 0));
+            swaggerMap = swaggerDocs.parse(root.getAbsolutePath(), "", "", new ArrayList<>(), c -> {
+            });
+        } finally {
+            System.setOut(out);
+        }
+        Result result = new Result();
+        result.wallMs = (System.nanoTime() - start) / 1000000;
+        result.peakHeap = heapSampler.finish();
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        SwaggerWriter writer = new SwaggerWriter(true);
+        for (Map.Entry<String, Swagger> entry : new TreeMap<>(swaggerMap).entrySet()) {
+            byte[] bytes = writer.toBytes(entry.getValue());
+            digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            digest.update(bytes);
+            result.outputBytes += bytes.length;
+        }
+        result.modules = swaggerMap.size();
+        result.sha256 = HexUtil.encodeHexStr(digest.digest());
+        return result;
+    }
+
+    /**
+     * 各堆内存池的峰值出现在不同时刻, 相加会高估整个堆的峰值, 因此在生成过程中定时采样整个堆的已用内存.
+     * 两次采样之间的短暂峰值会被漏掉
+     */
+    private static class HeapSampler extends Thread {
+
+        private static final long INTERVAL_MS = 10;
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        private volatile boolean running = true;
+
+        private volatile long peak;
+
+        private HeapSampler() {
+            super("heap-sampler");
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void sample() {
+            peak = Math.max(peak, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        /**
+         * 停止采样, 返回采样到的最大已用堆内存
+         */
+        private long finish() throws InterruptedException {
+            running = false;
+            interrupt();
+            join();
+            sample();
+            return peak;
+        }
+    }
+
+    private static class Result {
+
+        private int modules;
+
+        private long wallMs;
+
+        private long peakHeap;
+
+        private long outputBytes;
+
+        private String sha256;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitStore;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.solver.SharedTypeSolver;
+
+/**
+ * 随基准测试提交的固定源码 (resources/fixtures 下), 解压到临时工程后按插件的方式配置类型解析器并解析语法树
+ *
+ * @author yu.wu
+ */
+public class SourceFixture {
+
+    /**
+     * shop 工程: 带继承和多层嵌套泛型的 dto, 以及一个包含 24 个接口的控制器
+     */
+    public static final String[] SHOP = {
+            "com/demo/shop/dto/BaseEntity.java",
+            "com/demo/shop/dto/Result.java",
+            "com/demo/shop/dto/Page.java",
+            "com/demo/shop/dto/Pair.java",
+            "com/demo/shop/dto/OrderStatus.java",
+            "com/demo/shop/dto/Address.java",
+            "com/demo/shop/dto/Customer.java",
+            "com/demo/shop/dto/OrderItem.java",
+            "com/demo/shop/dto/Order.java",
+            "com/demo/shop/dto/GenericTypes.java",
+            "com/demo/shop/web/ShopController.java"
+    };
+
+    private final File root;
+
+    private final Map<String, CompilationUnit> compilationUnits = new LinkedHashMap<>();
+
+    private SourceFixture(File root) {
+        this.root = root;
+    }
+
+    public static SourceFixture extract(String name, String... files) throws IOException {
+        SourceFixture fixture = new SourceFixture(Files.createTempDirectory("swagger-" + name).toFile());
+        File sourceDirectory = new File(fixture.root, "src/main/java");
+        for (String file : files) {
+            File target = new File(sourceDirectory, file);
+            target.getParentFile().mkdirs();
+            try (InputStream in = SourceFixture.class.getResourceAsStream("/fixtures/" + name + "/" + file)) {
+                if (in == null) {
+                    throw new IOException("Fixture not found: " + name + "/" + file);
+                }
+                Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        fixture.parse();
+        return fixture;
+    }
+
+    private void parse() {
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        ParserConfiguration parserConfiguration = new ParserConfiguration();
+        CompilationUnitStore compilationUnitStore = new CompilationUnitStore(parserConfiguration, 0);
+        SharedTypeSolver typeSolver = new SharedTypeSolver();
+        for (File sourceDirectory : swaggerDocs.getSourceDirectories(root.getAbsolutePath())) {
+            typeSolver.addSource(new CompilationUnitTypeSolver(sourceDirectory.toPath(), compilationUnitStore));
+        }
+        typeSolver.addLibrary(new ReflectionTypeSolver(false));
+        parserConfiguration.setSymbolResolver(new JavaSymbolSolver(typeSolver));
+        for (File sourceDirectory : swaggerDocs.getSourceDirectories(root.getAbsolutePath())) {
+            for (File sourceFile : swaggerDocs.getSourceFiles(sourceDirectory)) {
+                String name = sourceFile.getName().replace(".java", "");
+                compilationUnitStore.get(sourceFile.toPath()).ifPresent(c -> compilationUnits.put(name, c));
+            }
+        }
+    }
+
+    /**
+     * @param name 类名
+     */
+    public CompilationUnit get(String name) {
+        CompilationUnit compilationUnit = compilationUnits.get(name);
+        if (compilationUnit == null) {
+            throw new IllegalArgumentException("No compilation unit " + name);
+        }
+        return compilationUnit;
+    }
+
+    public void delete() {
+        ProjectFixture.delete(root);
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitStore;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.solver.SharedTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.visitor.JavaxRsVisitorAdapter;
+import com.github.wu191287278.maven.swagger.doc.visitor.RestVisitorAdapter;
+import com.github.wu191287278.maven.swagger.doc.visitor.SwaggerVisitorAdapter;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 同时包含 Spring MVC 和 JAX-RS 控制器的工程, 比较 JAX-RS、Spring MVC 各遍历一次语法树
+ * 与一次遍历共用类型解析器的耗时. 语法树预先解析好, 只测量遍历和模型解析; 堆分配使用 -prof gc 查看
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class VisitorBenchmark {
+
+    @Param({"8"})
+    public int modules;
+
+    private File root;
+
+    private List<CompilationUnit> compilationUnits;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = new ProjectFixture()
+                .modules(modules)
+                .controllers(2)
+                .jaxRsControllers(2)
+                .endpoints(5)
+                .dtos(20)
+                .generate();
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        ParserConfiguration parserConfiguration = new ParserConfiguration();
+        CompilationUnitStore compilationUnitStore = new CompilationUnitStore(parserConfiguration, 0);
+        SharedTypeSolver typeSolver = new SharedTypeSolver();
+        List<File> sourceDirectories = swaggerDocs.getSourceDirectories(root.getAbsolutePath());
+        for (File sourceDirectory : sourceDirectories) {
+            typeSolver.addSource(new CompilationUnitTypeSolver(sourceDirectory.toPath(), compilationUnitStore));
+        }
+        typeSolver.addLibrary(new ReflectionTypeSolver(false));
+        parserConfiguration.setSymbolResolver(new JavaSymbolSolver(typeSolver));
+
+        compilationUnits = new ArrayList<>();
+        for (File sourceDirectory : sourceDirectories) {
+            for (File sourceFile : swaggerDocs.getSourceFiles(sourceDirectory)) {
+                compilationUnitStore.get(sourceFile.toPath()).ifPresent(compilationUnits::add);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ProjectFixture.delete(root);
+    }
+
+    @Benchmark
+    public void twoPass(Blackhole blackhole) {
+        JavaxRsVisitorAdapter javaxRsVisitorAdapter = new JavaxRsVisitorAdapter();
+        RestVisitorAdapter restVisitorAdapter = new RestVisitorAdapter();
+        for (CompilationUnit compilationUnit : compilationUnits) {
+            Swagger swagger = new Swagger().paths(new TreeMap<>());
+            compilationUnit.accept(javaxRsVisitorAdapter, swagger);
+            compilationUnit.accept(restVisitorAdapter, swagger);
+            blackhole.consume(swagger);
+        }
+        blackhole.consume(javaxRsVisitorAdapter.getModelMap());
+        blackhole.consume(restVisitorAdapter.getModelMap());
+    }
+
+    @Benchmark
+    public void fused(Blackhole blackhole) {
+        SwaggerVisitorAdapter visitorAdapter = new SwaggerVisitorAdapter();
+        for (CompilationUnit compilationUnit : compilationUnits) {
+            Swagger swagger = new Swagger().paths(new TreeMap<>());
+            compilationUnit.accept(visitorAdapter, swagger);
+            blackhole.consume(swagger);
+        }
+        blackhole.consume(visitorAdapter.getModelMap());
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.wu191287278.maven.swagger.benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.SwaggerWriter;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 写出一个大文档的耗时: 原来每个文件新建 ObjectMapper、先生成完整字符串再写入,
+ * 与共用 ObjectWriter 直接流式写入比较; bytes 为只序列化到内存 (复制到多个模块时使用). 堆分配使用 -prof gc 查看
+ *
+ * @author yu.wu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WriterBenchmark {
+
+    private File root;
+
+    private File output;
+
+    private Swagger swagger;
+
+    private final SwaggerWriter prettyWriter = new SwaggerWriter(true);
+
+    private final SwaggerWriter compactWriter = new SwaggerWriter(false);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = new ProjectFixture()
+                .modules(1)
+                .controllers(100)
+                .endpoints(10)
+                .dtos(200)
+                .generate();
+        swagger = new SwaggerDocs().parse(root.getAbsolutePath(), "", "", new ArrayList<>(), c -> {
+        }).get("module0");
+        output = Files.createTempFile("swagger", ".json").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ProjectFixture.delete(root);
+        output.delete();
+    }
+
+    @Benchmark
+    public File string() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        try (FileWriter writer = new FileWriter(output)) {
+            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger);
+            writer.write(json);
+        }
+        return output;
+    }
+
+    @Benchmark
+    public File streaming() throws IOException {
+        prettyWriter.write(swagger, output);
+        return output;
+    }
+
+    @Benchmark
+    public File streamingCompact() throws IOException {
+        compactWriter.write(swagger, output);
+        return output;
+    }
+
+    @Benchmark
+    public byte[] bytes() throws IOException {
+        return prettyWriter.toBytes(swagger);
+    }
+}
@@ -0,0 +1,13 @@
+package com.demo.shop.dto;
+
+/** 地址 */
+public class Address extends BaseEntity {
+    /** 省 */
+    private String province;
+    /** 市 */
+    private String city;
+    /** 详细地址 */
+    private String street;
+    /** 邮编 */
+    private String zipCode;
+}
@@ -0,0 +1,15 @@
+package com.demo.shop.dto;
+
+import java.time.LocalDateTime;
+
+/** 实体基类 */
+public class BaseEntity {
+    /** 主键 */
+    private Long id;
+    /** 创建时间 */
+    private LocalDateTime createdAt;
+    /** 修改时间 */
+    private LocalDateTime updatedAt;
+    /** 版本号 */
+    private Integer version;
+}
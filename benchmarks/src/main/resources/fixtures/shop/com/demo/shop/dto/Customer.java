@@ -0,0 +1,21 @@
+package com.demo.shop.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/** 客户 */
+public class Customer extends BaseEntity {
+    /** 姓名 */
+    private String name;
+    /** 生日 */
+    private LocalDate birthday;
+    /** 地址 */
+    private List<Address> addresses;
+    /** 默认地址 */
+    private Address defaultAddress;
+    /** 扩展属性 */
+    private Map<String, String> attributes;
+    /** 推荐人 */
+    private Customer referrer;
+}
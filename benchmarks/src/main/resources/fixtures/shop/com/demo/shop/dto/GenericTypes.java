@@ -0,0 +1,19 @@
+package com.demo.shop.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** 多层嵌套泛型字段, 基准测试逐个解析这些字段的类型 */
+public class GenericTypes {
+    private Result<Order> order;
+    private Result<Page<Order>> orderPage;
+    private Result<List<Page<OrderItem>>> itemPages;
+    private Result<Map<String, List<Page<OrderItem>>>> itemPagesByWarehouse;
+    private Page<Result<List<Map<String, Customer>>>> customerPages;
+    private List<Result<Page<Map<Long, Set<Address>>>>> addressPages;
+    private Result<Pair<Customer, List<Pair<OrderStatus, Page<Order>>>>> customerOrders;
+    private Map<String, Result<Pair<Page<Order>, Page<Customer>>>> dashboard;
+    private Result<Page<Pair<String, List<Result<OrderItem>>>>> nestedItems;
+    private Order[] orders;
+}
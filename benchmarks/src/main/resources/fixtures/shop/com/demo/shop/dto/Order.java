@@ -0,0 +1,25 @@
+package com.demo.shop.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/** 订单 */
+public class Order extends BaseEntity {
+    /** 订单号 */
+    private String orderNo;
+    /** 状态 */
+    private OrderStatus status;
+    /** 客户 */
+    private Customer customer;
+    /** 收货地址 */
+    private Address shippingAddress;
+    /** 明细 */
+    private List<OrderItem> items;
+    /** 金额 */
+    private BigDecimal amount;
+    /** 按仓库分组的明细 */
+    private Map<String, List<OrderItem>> itemsByWarehouse;
+    /** 状态变更记录 */
+    private List<Pair<OrderStatus, String>> history;
+}
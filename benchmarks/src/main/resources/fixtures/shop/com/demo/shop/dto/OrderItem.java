@@ -0,0 +1,16 @@
+package com.demo.shop.dto;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/** 订单明细 */
+public class OrderItem extends BaseEntity {
+    /** 商品编号 */
+    private String sku;
+    /** 数量 */
+    private int quantity;
+    /** 单价 */
+    private BigDecimal price;
+    /** 标签 */
+    private Set<String> tags;
+}
@@ -0,0 +1,6 @@
+package com.demo.shop.dto;
+
+/** 订单状态 */
+public enum OrderStatus {
+    CREATED, PAID, SHIPPED, DELIVERED, CANCELLED, REFUNDED
+}
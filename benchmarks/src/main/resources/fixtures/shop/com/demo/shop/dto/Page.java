@@ -0,0 +1,15 @@
+package com.demo.shop.dto;
+
+import java.util.List;
+
+/** 分页 */
+public class Page<T> {
+    /** 页码 */
+    private int page;
+    /** 每页数量 */
+    private int size;
+    /** 总数 */
+    private long total;
+    /** 数据 */
+    private List<T> items;
+}
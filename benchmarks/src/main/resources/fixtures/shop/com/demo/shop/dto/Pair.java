@@ -0,0 +1,9 @@
+package com.demo.shop.dto;
+
+/** 键值对 */
+public class Pair<K, V> {
+    /** 键 */
+    private K key;
+    /** 值 */
+    private V value;
+}
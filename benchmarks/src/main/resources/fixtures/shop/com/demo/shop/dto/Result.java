@@ -0,0 +1,11 @@
+package com.demo.shop.dto;
+
+/** 通用返回 */
+public class Result<T> {
+    /** 状态码 */
+    private int code;
+    /** 消息 */
+    private String message;
+    /** 数据 */
+    private T data;
+}
@@ -0,0 +1,296 @@
+package com.demo.shop.web;
+
+import java.util.List;
+import java.util.Map;
+import com.demo.shop.dto.*;
+
+/**
+ * 商城接口, 每个资源包含查询、分页、创建、修改、删除和批量操作
+ */
+@RestController
+@RequestMapping("/api/shop")
+public class ShopController {
+    /**
+     * 查询订单
+     *
+     * @param id 主键
+     * @return 订单
+     */
+    @GetMapping("/orders/{id}")
+    public Result<Order> getOrder(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 分页查询订单
+     *
+     * @param page    页码
+     * @param size    每页数量
+     * @param keyword 关键字
+     * @return 订单分页
+     */
+    @GetMapping("/orders")
+    public Result<Page<Order>> listOrder(@RequestParam(value = "page", defaultValue = "1") int page,
+                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                        @RequestParam(value = "keyword", required = false) String keyword) {
+        return null;
+    }
+
+    /**
+     * 创建订单
+     *
+     * @param order 订单
+     * @return 创建后的订单
+     */
+    @PostMapping("/orders")
+    public Result<Order> createOrder(@RequestBody Order order) {
+        return null;
+    }
+
+    /**
+     * 修改订单
+     *
+     * @param id    主键
+     * @param order 订单
+     * @return 修改后的订单
+     */
+    @PutMapping("/orders/{id}")
+    public Result<Order> updateOrder(@PathVariable("id") Long id, @RequestBody Order order) {
+        return null;
+    }
+
+    /**
+     * 删除订单
+     *
+     * @param id 主键
+     * @return 是否删除
+     */
+    @DeleteMapping("/orders/{id}")
+    public Result<Boolean> deleteOrder(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 批量查询订单
+     *
+     * @param ids 主键
+     * @return 按主键分组的订单
+     */
+    @PostMapping("/orders/batch")
+    public Result<Map<Long, List<Order>>> batchOrder(@RequestBody List<Long> ids) {
+        return null;
+    }
+
+    /**
+     * 查询订单明细
+     *
+     * @param id 主键
+     * @return 订单明细
+     */
+    @GetMapping("/items/{id}")
+    public Result<OrderItem> getOrderItem(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 分页查询订单明细
+     *
+     * @param page    页码
+     * @param size    每页数量
+     * @param keyword 关键字
+     * @return 订单明细分页
+     */
+    @GetMapping("/items")
+    public Result<Page<OrderItem>> listOrderItem(@RequestParam(value = "page", defaultValue = "1") int page,
+                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                        @RequestParam(value = "keyword", required = false) String keyword) {
+        return null;
+    }
+
+    /**
+     * 创建订单明细
+     *
+     * @param orderItem 订单明细
+     * @return 创建后的订单明细
+     */
+    @PostMapping("/items")
+    public Result<OrderItem> createOrderItem(@RequestBody OrderItem orderItem) {
+        return null;
+    }
+
+    /**
+     * 修改订单明细
+     *
+     * @param id    主键
+     * @param orderItem 订单明细
+     * @return 修改后的订单明细
+     */
+    @PutMapping("/items/{id}")
+    public Result<OrderItem> updateOrderItem(@PathVariable("id") Long id, @RequestBody OrderItem orderItem) {
+        return null;
+    }
+
+    /**
+     * 删除订单明细
+     *
+     * @param id 主键
+     * @return 是否删除
+     */
+    @DeleteMapping("/items/{id}")
+    public Result<Boolean> deleteOrderItem(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 批量查询订单明细
+     *
+     * @param ids 主键
+     * @return 按主键分组的订单明细
+     */
+    @PostMapping("/items/batch")
+    public Result<Map<Long, List<OrderItem>>> batchOrderItem(@RequestBody List<Long> ids) {
+        return null;
+    }
+
+    /**
+     * 查询客户
+     *
+     * @param id 主键
+     * @return 客户
+     */
+    @GetMapping("/customers/{id}")
+    public Result<Customer> getCustomer(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 分页查询客户
+     *
+     * @param page    页码
+     * @param size    每页数量
+     * @param keyword 关键字
+     * @return 客户分页
+     */
+    @GetMapping("/customers")
+    public Result<Page<Customer>> listCustomer(@RequestParam(value = "page", defaultValue = "1") int page,
+                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                        @RequestParam(value = "keyword", required = false) String keyword) {
+        return null;
+    }
+
+    /**
+     * 创建客户
+     *
+     * @param customer 客户
+     * @return 创建后的客户
+     */
+    @PostMapping("/customers")
+    public Result<Customer> createCustomer(@RequestBody Customer customer) {
+        return null;
+    }
+
+    /**
+     * 修改客户
+     *
+     * @param id    主键
+     * @param customer 客户
+     * @return 修改后的客户
+     */
+    @PutMapping("/customers/{id}")
+    public Result<Customer> updateCustomer(@PathVariable("id") Long id, @RequestBody Customer customer) {
+        return null;
+    }
+
+    /**
+     * 删除客户
+     *
+     * @param id 主键
+     * @return 是否删除
+     */
+    @DeleteMapping("/customers/{id}")
+    public Result<Boolean> deleteCustomer(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 批量查询客户
+     *
+     * @param ids 主键
+     * @return 按主键分组的客户
+     */
+    @PostMapping("/customers/batch")
+    public Result<Map<Long, List<Customer>>> batchCustomer(@RequestBody List<Long> ids) {
+        return null;
+    }
+
+    /**
+     * 查询地址
+     *
+     * @param id 主键
+     * @return 地址
+     */
+    @GetMapping("/addresses/{id}")
+    public Result<Address> getAddress(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 分页查询地址
+     *
+     * @param page    页码
+     * @param size    每页数量
+     * @param keyword 关键字
+     * @return 地址分页
+     */
+    @GetMapping("/addresses")
+    public Result<Page<Address>> listAddress(@RequestParam(value = "page", defaultValue = "1") int page,
+                                        @RequestParam(value = "size", defaultValue = "20") int size,
+                                        @RequestParam(value = "keyword", required = false) String keyword) {
+        return null;
+    }
+
+    /**
+     * 创建地址
+     *
+     * @param address 地址
+     * @return 创建后的地址
+     */
+    @PostMapping("/addresses")
+    public Result<Address> createAddress(@RequestBody Address address) {
+        return null;
+    }
+
+    /**
+     * 修改地址
+     *
+     * @param id    主键
+     * @param address 地址
+     * @return 修改后的地址
+     */
+    @PutMapping("/addresses/{id}")
+    public Result<Address> updateAddress(@PathVariable("id") Long id, @RequestBody Address address) {
+        return null;
+    }
+
+    /**
+     * 删除地址
+     *
+     * @param id 主键
+     * @return 是否删除
+     */
+    @DeleteMapping("/addresses/{id}")
+    public Result<Boolean> deleteAddress(@PathVariable("id") Long id) {
+        return null;
+    }
+
+    /**
+     * 批量查询地址
+     *
+     * @param ids 主键
+     * @return 按主键分组的地址
+     */
+    @PostMapping("/addresses/batch")
+    public Result<Map<Long, List<Address>>> batchAddress(@RequestBody List<Long> ids) {
+        return null;
+    }
+}
@@ -0,0 +1,140 @@
+package com.github.wu191287278.maven.swagger;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 为静态资源生成预压缩的 .gz / .br 文件, Spring 的 EncodedResourceResolver 可以直接按 Accept-Encoding 返回.
+ * brotli 需要在插件依赖中加入 com.aayushatharva.brotli4j:brotli4j 及对应平台的 native 包, 没有时只生成 gzip
+ *
+ * @author yu.wu
+ */
+public class Precompressor {
+
+    private static final Logger log = LoggerFactory.getLogger(Precompressor.class);
+
+    private static final Set<String> EXTENSIONS = new HashSet<>(Arrays.asList(
+            "json", "html", "js", "css", "map", "svg", "txt", "xml"));
+
+    private static final int BROTLI_QUALITY = 11;
+
+    private final boolean gzip;
+
+    private Method brotli;
+
+    private Object brotliParameters;
+
+    /**
+     * @param encodings 逗号分隔的 gzip、br
+     */
+    public Precompressor(String encodings) {
+        Set<String> set = Stream.of(encodings == null ? new String[0] : encodings.split(","))
+                .map(String::trim)
+                .map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        this.gzip = set.contains("gzip");
+        if (set.contains("br") || set.contains("brotli")) {
+            try {
+                ClassLoader classLoader = Precompressor.class.getClassLoader();
+                Class.forName("com.aayushatharva.brotli4j.Brotli4jLoader", true, classLoader)
+                        .getMethod("ensureAvailability").invoke(null);
+                Class<?> parametersClass = Class.forName("com.aayushatharva.brotli4j.encoder.Encoder$Parameters", true, classLoader);
+                brotliParameters = parametersClass.getMethod("setQuality", int.class)
+                        .invoke(parametersClass.getConstructor().newInstance(), BROTLI_QUALITY);
+                brotli = Class.forName("com.aayushatharva.brotli4j.encoder.Encoder", true, classLoader)
+                        .getMethod("compress", byte[].class, parametersClass);
+            } catch (Throwable e) {
+                log.warn("Brotli is not available, add com.aayushatharva.brotli4j to the plugin dependencies: " + e);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return gzip || brotli != null;
+    }
+
+    /**
+     * 压缩单个文件. 压缩后没有变小或没有启用对应压缩方式时删除旧的压缩文件, 避免返回过期内容
+     *
+     * @return 生成的压缩文件
+     */
+    public List<File> compress(File file) {
+        List<File> outputs = new ArrayList<>();
+        if (!file.isFile()) {
+            return outputs;
+        }
+        File gz = new File(file.getPath() + ".gz");
+        File br = new File(file.getPath() + ".br");
+        try {
+            if (!gzip) {
+                gz.delete();
+            } else if (isFresh(file, gz) || gzip(file, gz)) {
+                outputs.add(gz);
+            }
+            if (brotli == null) {
+                br.delete();
+            } else if (isFresh(file, br) || brotli(file, br)) {
+                outputs.add(br);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to compress " + file + ": " + e.getMessage());
+        }
+        return outputs;
+    }
+
+    /**
+     * 压缩目录下所有文本类型的静态资源
+     */
+    public List<File> compressTree(File directory) {
+        List<File> outputs = new ArrayList<>();
+        if (!directory.isDirectory()) {
+            return outputs;
+        }
+        for (File file : FileUtils.listFiles(directory, EXTENSIONS.toArray(new String[0]), true)) {
+            outputs.addAll(compress(file));
+        }
+        return outputs;
+    }
+
+    private boolean isFresh(File file, File compressed) {
+        return compressed.isFile() && compressed.lastModified() >= file.lastModified();
+    }
+
+    private boolean gzip(File file, File gz) throws IOException {
+        AtomicFile.write(gz, out -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            };
+            FileUtils.copyFile(file, gzip);
+            gzip.finish();
+        });
+        return keepIfSmaller(file, gz);
+    }
+
+    private boolean brotli(File file, File br) throws Exception {
+        byte[] compressed = (byte[]) brotli.invoke(null, Files.readAllBytes(file.toPath()), brotliParameters);
+        AtomicFile.write(br, compressed);
+        return keepIfSmaller(file, br);
+    }
+
+    private boolean keepIfSmaller(File file, File compressed) {
+        if (compressed.length() < file.length()) {
+            return true;
+        }
+        compressed.delete();
+        return false;
+    }
+}
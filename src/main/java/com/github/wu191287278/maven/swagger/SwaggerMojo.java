@@ -8,17 +8,19 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.util.ZipUtil;
-import cn.hutool.http.HttpUtil;
-import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.ModelRegistry;
 import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.SwaggerWriter;
+import com.github.wu191287278.maven.swagger.doc.cache.ChecksumCache;
+import com.github.wu191287278.maven.swagger.doc.cache.RemoteModelCache;
+import com.github.wu191287278.maven.swagger.doc.profile.PhaseReport;
+import com.github.wu191287278.maven.swagger.doc.profile.TypeProfiler;
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+import com.github.wu191287278.maven.swagger.doc.utils.Fingerprint;
 import com.github.wu191287278.maven.swagger.doc.visitor.ResolveSwaggerType;
 import com.google.common.collect.ImmutableMap;
-import io.swagger.models.Model;
 import io.swagger.models.Swagger;
-import io.swagger.models.properties.Property;
-import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -89,6 +91,39 @@ public class SwaggerMojo extends AbstractMojo {
     @Parameter(name = "mergeModel", defaultValue = "")
     private String mergeModel;
 
+    @Parameter(name = "cache", defaultValue = "true")
+    private String cache;
+
+    @Parameter(name = "compilationUnitCacheSize", defaultValue = "10000")
+    private String compilationUnitCacheSize;
+
+    @Parameter(name = "threads", defaultValue = "0")
+    private String threads;
+
+    @Parameter(name = "lazy", defaultValue = "true")
+    private String lazy;
+
+    @Parameter(name = "pretty", defaultValue = "true")
+    private String pretty;
+
+    @Parameter(name = "compress", defaultValue = "")
+    private String compress;
+
+    @Parameter(name = "copyArtifactIds", defaultValue = "")
+    private String copyArtifactIds;
+
+    @Parameter(name = "modelConnectTimeout", defaultValue = "5000")
+    private String modelConnectTimeout;
+
+    @Parameter(name = "modelReadTimeout", defaultValue = "30000")
+    private String modelReadTimeout;
+
+    @Parameter(name = "report", defaultValue = "true")
+    private String report;
+
+    @Parameter(name = "profileTypes", defaultValue = "0")
+    private String profileTypes;
+
     @Override
     public void execute() {
         if (isSkip()) {
@@ -108,7 +143,7 @@ public class SwaggerMojo extends AbstractMojo {
         List<String> libs = new ArrayList<>();
         try {
             for (String compileClasspathElement : project.getCompileClasspathElements()) {
-                if (compileClasspathElement == null || new File(compileClasspathElement).isDirectory()) {
+                if (compileClasspathElement == null || !new File(compileClasspathElement).isFile()) {
                     continue;
                 }
                 libs.add(compileClasspathElement);
@@ -135,19 +170,60 @@ public class SwaggerMojo extends AbstractMojo {
             URL[] jarUrlArray = urls.toArray(new URL[]{});
             URLClassLoader cl = URLClassLoader.newInstance(jarUrlArray, prevClassLoader);
             Thread.currentThread().setContextClassLoader(cl);
-            SwaggerDocs.CLASSLOADER = cl;
         } catch (Exception e) {
             getLog().warn(e.getMessage());
         }
 
+        File cacheDirectory = new File(project.getBuild().getDirectory(), "swagger-cache");
+        // 远程模型在后台下载, 与计算指纹、解析源码同时进行
+        String modelPaths = System.getProperty("modelPath", "");
+        try (RemoteModelCache remoteModels = new RemoteModelCache(isCache() ? new File(cacheDirectory, "models") : null)
+                .setConnectTimeout(getModelConnectTimeout())
+                .setReadTimeout(getModelReadTimeout())) {
+            remoteModels.prefetch(modelPaths);
+            ModelRegistry modelRegistry = new ModelRegistry(modelPaths, Thread.currentThread().getContextClassLoader(), remoteModels);
+            generate(modelRegistry, libs, copyParent, includeArtifactIdsSet, cacheDirectory);
+        }
+    }
+
+    /**
+     * 生成文档, 输入与上一次成功生成时相同则跳过
+     */
+    private void generate(ModelRegistry modelRegistry, List<String> libs, MavenProject copyParent, Set<String> includeArtifactIdsSet, File cacheDirectory) {
+        PhaseReport phaseReport = new PhaseReport();
         SwaggerDocs swaggerDocs = new SwaggerDocs(getTitle(), getDescription(), getVersion(), getBasePath(), getHost());
+        swaggerDocs.setPhaseReport(phaseReport);
+        TypeProfiler typeProfiler = getProfileTypes() > 0 ? new TypeProfiler() : null;
+        swaggerDocs.setTypeProfiler(typeProfiler);
         swaggerDocs.setCamel(getCamel());
+        swaggerDocs.setCompilationUnitCacheSize(getCompilationUnitCacheSize());
+        swaggerDocs.setThreads(getThreads());
+        swaggerDocs.setLazy(isLazy());
+        swaggerDocs.setModelRegistry(modelRegistry);
         ResolveSwaggerType.DATE_FORMAT = getDateFormat();
         ResolveSwaggerType.TIME_FORMAT = getTimeFormat();
         ResolveSwaggerType.DATETIME_FORMAT = getDatetimeFormat();
         ResolveSwaggerType.RECURSION_ANCESTOR = getRecursionAncestor();
+
+        UpToDateCheck upToDateCheck = new UpToDateCheck(new File(cacheDirectory, "generate.json"));
+        String fingerprint = null;
+        if (isCache()) {
+            swaggerDocs.setCacheDirectory(cacheDirectory);
+            try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.FINGERPRINT)) {
+                fingerprint = fingerprint(swaggerDocs, copyParent, libs, cacheDirectory);
+            }
+            // 远程文档未修改时只是一次条件请求, 获取失败且没有缓存时每次都生成
+            if (upToDateCheck.isUpToDate(fingerprint, modelRegistry::getChecksum)) {
+                getLog().info("Swagger documents are up to date");
+                return;
+            }
+        }
+        upToDateCheck.invalidate();
+        List<File> outputs = new ArrayList<>();
+        SwaggerWriter swaggerWriter = new SwaggerWriter(isPretty());
+        Precompressor precompressor = new Precompressor(getCompress());
         Map<String, Swagger> m = swaggerDocs.parse(copyParent.getBasedir().getAbsolutePath(), getBasePackage(), getExcludeBasePackage(), libs, c -> {
-            getLog().info("Parsing " + c);
+            getLog().debug("Parsing " + c);
         });
 
         File output = getOutputDirectory();
@@ -165,76 +241,202 @@ public class SwaggerMojo extends AbstractMojo {
 //            m = newM;
 //        }
 
-        for (Map.Entry<String, Swagger> entry : m.entrySet()) {
-            if (CollUtil.isNotEmpty(includeArtifactIdsSet) && !includeArtifactIdsSet.contains(entry.getKey())) {
+        // 每个文档只序列化一次, 同一份字节写入输出目录和需要的模块
+        List<File> copyTargets = new ArrayList<>();
+        Set<String> copyArtifactIdsSet = toSet(getCopyArtifactIds());
+        for (MavenProject collectedProject : copyParent.getCollectedProjects()) {
+            if (collectedProject.getName().equals(project.getName())) {
+                continue;
+            }
+            if (!copyArtifactIdsSet.isEmpty() && !copyArtifactIdsSet.contains(collectedProject.getArtifactId().toLowerCase())) {
                 continue;
             }
+            copyTargets.add(new File(collectedProject.getBasedir(), "target/classes/swagger/" + copyParent.getName()));
+        }
+        for (Map.Entry<String, Swagger> entry : m.entrySet()) {
             String filename = entry.getKey() + ".json";
             Swagger swagger = entry.getValue();
-            mergeModel(swagger);
-            write(swagger, new File(output, filename));
-            urls.add(ImmutableMap.of("name", entry.getKey(), "url", "./" + filename));
+            boolean included = CollUtil.isEmpty(includeArtifactIdsSet) || includeArtifactIdsSet.contains(entry.getKey());
+            if (included) {
+                try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.MODEL_MERGE)) {
+                    modelRegistry.merge(swagger);
+                }
+            }
+            PhaseReport.Timer serialization = phaseReport.start(PhaseReport.SERIALIZATION);
+            if (copyTargets.isEmpty()) {
+                if (included) {
+                    write(swaggerWriter, swagger, new File(output, filename));
+                }
+            } else {
+                byte[] json;
+                try {
+                    json = swaggerWriter.toBytes(swagger);
+                } catch (IOException e) {
+                    getLog().error(e.getMessage(), e);
+                    serialization.close();
+                    continue;
+                }
+                if (included) {
+                    write(json, new File(output, filename));
+                }
+                for (File target : copyTargets) {
+                    write(json, new File(target, filename));
+                    outputs.add(new File(target, filename));
+                }
+            }
+            serialization.close();
+            if (included) {
+                outputs.add(new File(output, filename));
+                try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.COMPRESSION)) {
+                    outputs.addAll(precompressor.compress(new File(output, filename)));
+                }
+                urls.add(ImmutableMap.of("name", entry.getKey(), "url", "./" + filename));
+            }
         }
-        for (MavenProject collectedProject : copyParent.getCollectedProjects()) {
-            if (collectedProject.getName().equals(project.getName())) {
-                continue;
+        try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.UI)) {
+            writeHtml(urls);
+        }
+        outputs.add(new File(getOutputDirectory(), "swagger-ui.html"));
+        outputs.add(new File(getOutputDirectory(), "dist"));
+        try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.COMPRESSION)) {
+            outputs.addAll(precompressor.compress(new File(getOutputDirectory(), "swagger-ui.html")));
+            outputs.addAll(precompressor.compressTree(new File(getOutputDirectory(), "dist")));
+        }
+
+        // 解析和合并模型时已经加载
+        String models = modelRegistry.getChecksum();
+        if (fingerprint != null && models != null) {
+            try {
+                upToDateCheck.record(fingerprint, models, outputs);
+            } catch (IOException e) {
+                getLog().warn(e.getMessage());
             }
-            File target = new File(collectedProject.getBasedir(), "target/classes/swagger/" + copyParent.getName());
-            target.mkdirs();
-            for (Map.Entry<String, Swagger> entry : m.entrySet()) {
-                String filename = entry.getKey() + ".json";
-                Swagger swagger = entry.getValue();
-                write(swagger, new File(target, filename));
+        }
+        report(phaseReport, output);
+        if (typeProfiler != null) {
+            getLog().info("Most expensive of " + typeProfiler.size() + " resolved types:");
+            for (String line : typeProfiler.top(getProfileTypes())) {
+                getLog().info(line);
+            }
+        }
+    }
+
+    /**
+     * 输出各阶段耗时, 并在文档旁写入 swagger-report.json
+     */
+    private void report(PhaseReport phaseReport, File output) {
+        for (String line : phaseReport.summary()) {
+            getLog().info(line);
+        }
+        if (!isReport()) {
+            return;
+        }
+        File file = new File(output, "swagger-report.json");
+        try {
+            phaseReport.write(file);
+            getLog().info("Report output path: " + file.getAbsolutePath());
+        } catch (IOException e) {
+            getLog().warn(e.getMessage());
+        }
+    }
+
+    /**
+     * 计算本次生成的输入指纹: 源文件、依赖jar的校验和以及所有插件参数.
+     * 外部模型由 {@link UpToDateCheck} 在其它输入都没有变化时再比较
+     */
+    private String fingerprint(SwaggerDocs swaggerDocs, MavenProject copyParent, List<String> libs, File cacheDirectory) {
+        Fingerprint fingerprint = new Fingerprint()
+                .add("pluginVersion", Fingerprint.pluginVersion())
+                .add("title", getTitle())
+                .add("version", getVersion())
+                .add("description", getDescription())
+                .add("schema", getSchema())
+                .add("host", getHost())
+                .add("basePath", getBasePath())
+                .add("camel", getCamel())
+                .add("timeFormat", getTimeFormat())
+                .add("dateFormat", getDateFormat())
+                .add("datetimeFormat", getDatetimeFormat())
+                .add("recursionAncestor", getRecursionAncestor())
+                .add("outputDirectory", getOutputDirectory().getAbsolutePath())
+                .add("includeArtifactIds", getIncludeArtifactIds())
+                .add("excludeBasePackage", getExcludeBasePackage())
+                .add("basePackage", getBasePackage())
+                .add("mergeModel", mergeModel)
+                .add("pretty", isPretty())
+                .add("compress", getCompress())
+                .add("copyArtifactIds", getCopyArtifactIds())
+                .add("report", isReport())
+                .add("response", System.getProperty("response", ""));
+
+        for (MavenProject collectedProject : copyParent.getCollectedProjects()) {
+            fingerprint.add("project", collectedProject.getBasedir().getAbsolutePath());
+        }
+
+        for (File sourceDirectory : swaggerDocs.getSourceDirectories(copyParent.getBasedir().getAbsolutePath())) {
+            for (File sourceFile : swaggerDocs.getSourceFiles(sourceDirectory)) {
+                fingerprint.addFile(sourceFile);
             }
         }
-        writeHtml(urls);
+
+        ChecksumCache checksumCache = new ChecksumCache(new File(cacheDirectory, "checksums.properties"));
+        for (String lib : libs) {
+            fingerprint.add(lib, checksumCache.sha256(new File(lib)));
+        }
+        checksumCache.save();
+        return fingerprint.toHex();
     }
 
     private void writeHtml(List<Map<String, String>> urls) {
         String html = "";
         File file = new File(getOutputDirectory(), "swagger-ui.html");
-        try (InputStream in = SwaggerMojo.class.getClassLoader().getResourceAsStream("META-INF/resources/swagger/swagger-ui.html");
-             FileWriter writer = new FileWriter(file)) {
+        try (InputStream in = SwaggerMojo.class.getClassLoader().getResourceAsStream("META-INF/resources/swagger/swagger-ui.html")) {
             if (in != null) {
                 html = IOUtils.toString(in, StandardCharsets.UTF_8);
                 html = String.format(html, "urls: " + new ObjectMapper().writeValueAsString(urls));
-                writer.write(html);
-                getLog().info("Html output path: " + file.getAbsolutePath());
+                if (AtomicFile.write(file, html.getBytes(StandardCharsets.UTF_8))) {
+                    getLog().info("Html output path: " + file.getAbsolutePath());
+                }
             }
         } catch (IOException e) {
             getLog().error(e);
         }
-        File dist = new File(getOutputDirectory(), "dist.zip");
-        try (InputStream in = SwaggerMojo.class.getClassLoader().getResourceAsStream("META-INF/resources/swagger/dist.zip");
-             OutputStream out = new BufferedOutputStream(new FileOutputStream(dist))) {
-            if (in != null) {
-                IOUtils.copy(in, out);
+        // 旧版本会把 dist.zip 复制到输出目录
+        FileUtils.deleteQuietly(new File(getOutputDirectory(), "dist.zip"));
+        File distDir = new File(getOutputDirectory(), "dist");
+        try {
+            if (new SwaggerUiInstaller(SwaggerMojo.class.getClassLoader()).install(distDir)) {
+                getLog().info("Swagger ui output path: " + distDir.getAbsolutePath());
             }
         } catch (IOException e) {
             getLog().error(e);
         }
+    }
+
+    private void write(SwaggerWriter swaggerWriter, Swagger swagger, File out) {
         try {
-            File distDir = new File(getOutputDirectory(), "dist");
-            distDir.mkdirs();
-            ZipUtil.unzip(dist, distDir);
-        } catch (Exception e) {
-            getLog().error(e);
+            log(swaggerWriter.write(swagger, out), out);
+        } catch (IOException e) {
+            getLog().error(e.getMessage(), e);
         }
-
     }
 
-    private void write(Swagger swagger, File out) {
-        ObjectMapper objectMapper = new ObjectMapper()
-                .setSerializationInclusion(JsonInclude.Include.NON_NULL);
-        try (FileWriter writer = new FileWriter(out)) {
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger);
-            writer.write(json);
-            getLog().info("Swagger output path: " + out.getAbsolutePath());
+    private void write(byte[] json, File out) {
+        try {
+            log(AtomicFile.write(out, json), out);
         } catch (IOException e) {
             getLog().error(e.getMessage(), e);
         }
     }
 
+    private void log(boolean changed, File out) {
+        if (changed) {
+            getLog().info("Swagger output path: " + out.getAbsolutePath());
+        } else {
+            getLog().info("Swagger output unchanged: " + out.getAbsolutePath());
+        }
+    }
+
     public String getTitle() {
         return System.getProperty("title", title);
     }
@@ -313,71 +515,57 @@ public class SwaggerMojo extends AbstractMojo {
     }
 
 
-    public void mergeModel(Swagger swagger) {
-        try {
-            String mergeModels = System.getProperty("modelPath", "");
-            if (StringUtils.isBlank(mergeModels)) {
-                return;
-            }
-            String[] split = mergeModels.split(",");
-            for (String modelPath : split) {
-                modelPath = modelPath.trim();
-                if (modelPath.startsWith("classpath:")) {
-                    modelPath = modelPath.replace("classpath:", "");
-                    try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(modelPath)) {
-                        if (in == null) {
-                            continue;
-                        }
-                        String swaggerFile = IOUtils.toString(in, StandardCharsets.UTF_8);
-                        Swagger modelSwagger = new SwaggerParser()
-                                .parse(swaggerFile);
-                        for (Map.Entry<String, Model> entry : modelSwagger.getDefinitions().entrySet()) {
-                            Model model = swagger.getDefinitions().get(entry.getKey());
-                            if (model != null) {
-                                boolean isBreak = false;
-                                if (model.getProperties() != null) {
-                                    for (Map.Entry<String, Property> propertyEntry : model.getProperties().entrySet()) {
-                                        if (StringUtils.isNotBlank(propertyEntry.getValue().getDescription())) {
-                                            isBreak = true;
-                                            break;
-                                        }
-                                    }
-                                }
-                                if (!isBreak) {
-                                    swagger.model(entry.getKey(), entry.getValue());
-                                }
-                            }
-                        }
-                    } catch (IOException e) {
-                        getLog().warn(e.getMessage());
-                    }
-                }
-                if (modelPath.startsWith("http://") || modelPath.startsWith("https://")) {
-                    String swaggerFile = HttpUtil.get(modelPath);
-                    Swagger modelSwagger = new SwaggerParser()
-                            .parse(swaggerFile);
-                    for (Map.Entry<String, Model> entry : modelSwagger.getDefinitions().entrySet()) {
-                        Model model = swagger.getDefinitions().get(entry.getKey());
-                        if (model != null) {
-                            boolean isBreak = false;
-                            if (model.getProperties() != null) {
-                                for (Map.Entry<String, Property> propertyEntry : model.getProperties().entrySet()) {
-                                    if (StringUtils.isNotBlank(propertyEntry.getValue().getDescription())) {
-                                        isBreak = true;
-                                        break;
-                                    }
-                                }
-                            }
-                            if (!isBreak) {
-                                swagger.model(entry.getKey(), entry.getValue());
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            getLog().warn(e.getMessage());
-        }
+    public boolean isCache() {
+        String isCache = System.getProperty("cache", cache);
+        return "true".equals(isCache);
+    }
+
+    public int getCompilationUnitCacheSize() {
+        String size = System.getProperty("compilationUnitCacheSize", compilationUnitCacheSize);
+        return StringUtils.isBlank(size) ? 10000 : Integer.parseInt(size.trim());
+    }
+
+    public int getThreads() {
+        String threads = System.getProperty("threads", this.threads);
+        return StringUtils.isBlank(threads) ? 0 : Integer.parseInt(threads.trim());
+    }
+
+    public boolean isPretty() {
+        String isPretty = System.getProperty("pretty", pretty);
+        return !"false".equals(isPretty);
+    }
+
+    public String getCompress() {
+        return System.getProperty("compress", compress);
+    }
+
+    public String getCopyArtifactIds() {
+        return System.getProperty("copyArtifactIds", copyArtifactIds);
+    }
+
+    public int getModelConnectTimeout() {
+        String timeout = System.getProperty("modelConnectTimeout", modelConnectTimeout);
+        return StringUtils.isBlank(timeout) ? 5000 : Integer.parseInt(timeout.trim());
+    }
+
+    public int getModelReadTimeout() {
+        String timeout = System.getProperty("modelReadTimeout", modelReadTimeout);
+        return StringUtils.isBlank(timeout) ? 30000 : Integer.parseInt(timeout.trim());
+    }
+
+    public boolean isReport() {
+        String isReport = System.getProperty("report", report);
+        return !"false".equals(isReport);
+    }
+
+    public int getProfileTypes() {
+        String profileTypes = System.getProperty("profileTypes", this.profileTypes);
+        return StringUtils.isBlank(profileTypes) ? 0 : Integer.parseInt(profileTypes.trim());
+    }
+
+    public boolean isLazy() {
+        String isLazy = System.getProperty("lazy", lazy);
+        return !"false".equals(isLazy);
     }
 
     public boolean isSkip() {
@@ -0,0 +1,91 @@
+package com.github.wu191287278.maven.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+import com.github.wu191287278.maven.swagger.doc.utils.Fingerprint;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 将插件内置的 swagger-ui 静态资源直接从 classpath 解压到输出目录, 不再复制 dist.zip.
+ * 解压完成后写入插件版本和压缩包校验和, 下次两者都没有变化时跳过解压
+ *
+ * @author yu.wu
+ */
+public class SwaggerUiInstaller {
+
+    private static final Logger log = LoggerFactory.getLogger(SwaggerUiInstaller.class);
+
+    private static final String DIST = "META-INF/resources/swagger/dist.zip";
+
+    private static final String STAMP = ".swagger-ui.stamp";
+
+    private final ClassLoader classLoader;
+
+    public SwaggerUiInstaller(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * @return 是否重新解压
+     */
+    public boolean install(File distDir) throws IOException {
+        String stamp;
+        try (InputStream in = classLoader.getResourceAsStream(DIST)) {
+            if (in == null) {
+                log.warn("Missing " + DIST);
+                return false;
+            }
+            stamp = Fingerprint.pluginVersion() + "\n" + DigestUtil.sha256Hex(in) + "\n";
+        }
+        File stampFile = new File(distDir, STAMP);
+        if (stampFile.isFile() && stamp.equals(FileUtils.readFileToString(stampFile, StandardCharsets.UTF_8))) {
+            return false;
+        }
+        Set<String> names = new HashSet<>();
+        try (ZipInputStream zip = new ZipInputStream(classLoader.getResourceAsStream(DIST))) {
+            String canonicalDir = distDir.getCanonicalPath() + File.separator;
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                File file = new File(distDir, entry.getName());
+                if (!file.getCanonicalPath().startsWith(canonicalDir)) {
+                    throw new IOException("Illegal entry " + entry.getName() + " in " + DIST);
+                }
+                // 内容相同的文件不会重写
+                AtomicFile.write(file, out -> IOUtils.copy(zip, out));
+                names.add(file.getCanonicalPath());
+            }
+        }
+        deleteStale(distDir, names);
+        AtomicFile.write(stampFile, stamp.getBytes(StandardCharsets.UTF_8));
+        return true;
+    }
+
+    /**
+     * 删除旧版本留下的文件, 保留当前文件的预压缩文件
+     */
+    private void deleteStale(File distDir, Set<String> names) throws IOException {
+        for (File file : FileUtils.listFiles(distDir, null, true)) {
+            String path = file.getCanonicalPath();
+            String source = path.replaceFirst("\\.(gz|br)$", "");
+            if (!names.contains(path) && !names.contains(source) && !file.getName().equals(STAMP)) {
+                Files.delete(file.toPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.wu191287278.maven.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.utils.Fingerprint;
+
+/**
+ * 记录上一次成功生成时的输入指纹、外部模型校验和以及输出文件的摘要, 都没有变化时跳过生成
+ *
+ * @author yu.wu
+ */
+public class UpToDateCheck {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final File file;
+
+    public UpToDateCheck(File file) {
+        this.file = file;
+    }
+
+    /**
+     * 输入和输出都没有变化时才获取外部模型校验和, 远程文档的下载不阻塞其它比较, 需要生成时也不阻塞解析
+     *
+     * @param models 外部模型校验和, 获取失败时返回null
+     */
+    public boolean isUpToDate(String fingerprint, Supplier<String> models) {
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            Stamp stamp = objectMapper.readValue(file, Stamp.class);
+            if (!fingerprint.equals(stamp.getFingerprint())) {
+                return false;
+            }
+            for (Map.Entry<String, String> output : stamp.getOutputs().entrySet()) {
+                if (!output.getValue().equals(digest(new File(output.getKey())))) {
+                    return false;
+                }
+            }
+            return stamp.getModels() != null && stamp.getModels().equals(models.get());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public void record(String fingerprint, String models, List<File> outputs) throws IOException {
+        Stamp stamp = new Stamp();
+        stamp.setFingerprint(fingerprint);
+        stamp.setModels(models);
+        for (File output : outputs) {
+            String digest = digest(output);
+            if (digest != null) {
+                stamp.getOutputs().put(output.getAbsolutePath(), digest);
+            }
+        }
+        file.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, stamp);
+    }
+
+    public void invalidate() {
+        file.delete();
+    }
+
+    /**
+     * 文件内容的 sha256, 目录按相对路径和其中每个文件的内容计算; 不存在时返回null
+     */
+    private static String digest(File output) throws IOException {
+        if (output.isFile()) {
+            return DigestUtil.sha256Hex(output);
+        }
+        if (!output.isDirectory()) {
+            return null;
+        }
+        Path root = output.toPath();
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        Fingerprint fingerprint = new Fingerprint();
+        for (Path path : files) {
+            fingerprint.add(root.relativize(path).toString().replace('\\', '/'), DigestUtil.sha256Hex(path.toFile()));
+        }
+        return fingerprint.toHex();
+    }
+
+    public static class Stamp {
+
+        private String fingerprint;
+
+        private String models;
+
+        /**
+         * 输出文件路径 -&gt; 摘要
+         */
+        private Map<String, String> outputs = new TreeMap<>();
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getModels() {
+            return models;
+        }
+
+        public void setModels(String models) {
+            this.models = models;
+        }
+
+        public Map<String, String> getOutputs() {
+            return outputs;
+        }
+
+        public void setOutputs(Map<String, String> outputs) {
+            this.outputs = outputs;
+        }
+    }
+}
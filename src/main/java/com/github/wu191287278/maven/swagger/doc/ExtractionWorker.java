@@ -0,0 +1,127 @@
+package com.github.wu191287278.maven.swagger.doc;
+
+import java.io.File;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.PackageDeclaration;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitStore;
+import com.github.wu191287278.maven.swagger.doc.solver.SharedTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.utils.AnnotationScanner;
+import com.github.wu191287278.maven.swagger.doc.visitor.ResolutionTrace;
+import com.github.wu191287278.maven.swagger.doc.visitor.SwaggerVisitorAdapter;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 一个线程的解析上下文. javaparser 的语法树和类型解析器都不是线程安全的,
+ * 每个线程持有独立的语法树存储和类型解析器, 在各模块之间复用; visitor 由调用方按模块提供
+ *
+ * @author yu.wu
+ */
+class ExtractionWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionWorker.class);
+
+    private static final AnnotationScanner CONTROLLER_SCANNER = new AnnotationScanner(SwaggerVisitorAdapter.CONTROLLER_ANNOTATIONS);
+
+    private final CompilationUnitStore compilationUnitStore;
+
+    private final SharedTypeSolver typeSolver;
+
+    ExtractionWorker(CompilationUnitStore compilationUnitStore, SharedTypeSolver typeSolver) {
+        this.compilationUnitStore = compilationUnitStore;
+        this.typeSolver = typeSolver;
+    }
+
+    /**
+     * 解析单个源文件, 生成只包含该文件接口和标签的片段.
+     * 没有控制器注解的文件不解析, 直接返回空片段, 需要时再由类型解析器解析
+     */
+    Extraction extract(File sourceFile, String excludeBasePackage, SwaggerVisitorAdapter visitorAdapter) {
+        Swagger fragment = new Swagger().paths(new TreeMap<>());
+        if (!CONTROLLER_SCANNER.containsAny(sourceFile.toPath())) {
+            return new Extraction(visitorAdapter, fragment, new ResolutionTrace(), true);
+        }
+        ResolutionTrace trace = visitorAdapter.getResolveSwaggerType().beginTrace();
+        try {
+            Optional<CompilationUnit> compilationUnit = compilationUnitStore.get(sourceFile.toPath());
+            if (compilationUnit.isPresent()) {
+                CompilationUnit r = compilationUnit.get();
+                if (!isExcluded(r, excludeBasePackage)) {
+                    r.accept(visitorAdapter, fragment);
+                }
+            }
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        } finally {
+            visitorAdapter.getResolveSwaggerType().endTrace();
+            // 延迟模式下控制器遍历完即释放, 内存中只保留类型解析需要的语法树
+            if (compilationUnitStore.isLazy()) {
+                compilationUnitStore.release(sourceFile.toPath());
+            }
+        }
+        return new Extraction(visitorAdapter, fragment, trace, false);
+    }
+
+    private boolean isExcluded(CompilationUnit r, String excludeBasePackage) {
+        if (excludeBasePackage != null && !excludeBasePackage.isEmpty()) {
+            Optional<PackageDeclaration> packageDeclarationOptional = r.getPackageDeclaration();
+            if (packageDeclarationOptional.isPresent()) {
+                String packageName = packageDeclarationOptional.get().getNameAsString();
+                return packageName != null && packageName.startsWith(excludeBasePackage);
+            }
+        }
+        return false;
+    }
+
+    CompilationUnitStore getCompilationUnitStore() {
+        return compilationUnitStore;
+    }
+
+    SharedTypeSolver getTypeSolver() {
+        return typeSolver;
+    }
+
+    /**
+     * 单个源文件的解析结果
+     */
+    static class Extraction {
+
+        private final SwaggerVisitorAdapter visitorAdapter;
+
+        private final Swagger fragment;
+
+        private final ResolutionTrace trace;
+
+        /**
+         * 是否被预先筛选排除, 没有解析
+         */
+        private final boolean skipped;
+
+        Extraction(SwaggerVisitorAdapter visitorAdapter, Swagger fragment, ResolutionTrace trace, boolean skipped) {
+            this.visitorAdapter = visitorAdapter;
+            this.fragment = fragment;
+            this.trace = trace;
+            this.skipped = skipped;
+        }
+
+        SwaggerVisitorAdapter getVisitorAdapter() {
+            return visitorAdapter;
+        }
+
+        Swagger getFragment() {
+            return fragment;
+        }
+
+        ResolutionTrace getTrace() {
+            return trace;
+        }
+
+        boolean isSkipped() {
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.wu191287278.maven.swagger.doc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.github.wu191287278.maven.swagger.doc.cache.RemoteModelCache;
+import com.github.wu191287278.maven.swagger.doc.utils.Fingerprint;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * modelPath 配置的外部模型, 每次生成只加载一次, 按定义名和简单类名建立索引.
+ * 第一次使用时才加载, 远程文档的下载可以与解析源码同时进行
+ *
+ * @author yu.wu
+ */
+public class ModelRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelRegistry.class);
+
+    private final String modelPaths;
+
+    private final ClassLoader classLoader;
+
+    private final RemoteModelCache remoteModels;
+
+    /**
+     * 按 modelPath 顺序保存每个文档的定义, 合并时后面的文档覆盖前面的
+     */
+    private List<Map<String, Model>> documents;
+
+    private Map<String, Model> index;
+
+    private String checksum;
+
+    public ModelRegistry(String modelPaths, ClassLoader classLoader, RemoteModelCache remoteModels) {
+        this.modelPaths = modelPaths == null ? "" : modelPaths;
+        this.classLoader = classLoader;
+        this.remoteModels = remoteModels;
+    }
+
+    public static ModelRegistry empty() {
+        return new ModelRegistry("", ModelRegistry.class.getClassLoader(), null);
+    }
+
+    /**
+     * 按定义名查找, 找不到且是全限定名时再按简单类名查找
+     */
+    public Model get(String typeName) {
+        Map<String, Model> index = getIndex();
+        Model model = index.get(typeName);
+        if (model == null && typeName.indexOf('.') > 0) {
+            model = index.get(simpleName(typeName));
+        }
+        return model;
+    }
+
+    /**
+     * 本地模型没有任何属性说明时使用外部模型替换
+     */
+    public void merge(Swagger swagger) {
+        if (swagger.getDefinitions() == null) {
+            return;
+        }
+        for (Map<String, Model> definitions : getDocuments()) {
+            for (Map.Entry<String, Model> entry : definitions.entrySet()) {
+                Model model = swagger.getDefinitions().get(entry.getKey());
+                if (model != null && !hasDescriptions(model.getProperties())) {
+                    swagger.model(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * 所有外部文档内容的校验和, 有远程文档获取失败时返回null
+     */
+    public synchronized String getChecksum() {
+        load();
+        return checksum;
+    }
+
+    /**
+     * 是否有属性带有说明, 找到第一个即返回
+     */
+    public static boolean hasDescriptions(Map<String, Property> properties) {
+        if (properties == null) {
+            return false;
+        }
+        for (Property property : properties.values()) {
+            if (StringUtils.isNotBlank(property.getDescription())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized List<Map<String, Model>> getDocuments() {
+        load();
+        return documents;
+    }
+
+    private synchronized Map<String, Model> getIndex() {
+        load();
+        return index;
+    }
+
+    private void load() {
+        if (documents != null) {
+            return;
+        }
+        documents = new ArrayList<>();
+        index = new HashMap<>();
+        Fingerprint fingerprint = new Fingerprint();
+        boolean complete = true;
+        for (String modelPath : modelPaths.split(",")) {
+            modelPath = modelPath.trim();
+            String body = null;
+            Swagger swagger = null;
+            if (modelPath.startsWith("classpath:")) {
+                try (InputStream in = classLoader.getResourceAsStream(modelPath.replace("classpath:", ""))) {
+                    body = in == null ? "" : IOUtils.toString(in, StandardCharsets.UTF_8);
+                    swagger = in == null ? null : new SwaggerParser().parse(body);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("Failed to load " + modelPath + ": " + e.getMessage());
+                    complete = false;
+                }
+            } else if (RemoteModelCache.isRemote(modelPath) && remoteModels != null) {
+                body = remoteModels.getBody(modelPath);
+                swagger = remoteModels.getSwagger(modelPath);
+                complete &= body != null;
+            }
+            if (body != null) {
+                fingerprint.add(modelPath, DigestUtil.sha256Hex(body));
+            }
+            if (swagger != null && swagger.getDefinitions() != null) {
+                documents.add(swagger.getDefinitions());
+            }
+        }
+
+        Map<String, Model> simpleNames = new HashMap<>();
+        for (Map<String, Model> definitions : documents) {
+            for (Map.Entry<String, Model> entry : definitions.entrySet()) {
+                index.put(entry.getKey(), entry.getValue());
+                if (entry.getKey().indexOf('.') > 0) {
+                    simpleNames.put(simpleName(entry.getKey()), entry.getValue());
+                }
+            }
+        }
+        // 定义名本身优先于全限定名截取出的简单类名
+        simpleNames.forEach(index::putIfAbsent);
+        checksum = complete ? fingerprint.toHex() : null;
+    }
+
+    private static String simpleName(String typeName) {
+        return typeName.substring(typeName.lastIndexOf('.') + 1);
+    }
+}
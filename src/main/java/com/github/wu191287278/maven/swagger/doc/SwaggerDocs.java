@@ -2,38 +2,40 @@ package com.github.wu191287278.maven.swagger.doc;
 
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
+import java.nio.file.Files;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import cn.hutool.http.HttpUtil;
 import cn.hutool.json.JSONUtil;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.javaparser.ParseResult;
 import com.github.javaparser.ParserConfiguration;
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.ast.PackageDeclaration;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
-import com.github.javaparser.utils.SourceRoot;
-import com.github.wu191287278.maven.swagger.doc.visitor.JavaxRsVisitorAdapter;
+import com.github.wu191287278.maven.swagger.doc.ExtractionWorker.Extraction;
+import com.github.wu191287278.maven.swagger.doc.cache.ChecksumCache;
+import com.github.wu191287278.maven.swagger.doc.cache.ExtractionCache;
+import com.github.wu191287278.maven.swagger.doc.cache.JarMetadataCache;
+import com.github.wu191287278.maven.swagger.doc.cache.RemoteModelCache;
+import com.github.wu191287278.maven.swagger.doc.dependency.DependencyGraph;
+import com.github.wu191287278.maven.swagger.doc.profile.PhaseReport;
+import com.github.wu191287278.maven.swagger.doc.profile.TypeProfiler;
+import com.github.wu191287278.maven.swagger.doc.solver.ClasspathTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitStore;
+import com.github.wu191287278.maven.swagger.doc.solver.CompilationUnitTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.solver.SharedTypeSolver;
+import com.github.wu191287278.maven.swagger.doc.utils.Fingerprint;
 import com.github.wu191287278.maven.swagger.doc.visitor.ResolveSwaggerType;
-import com.github.wu191287278.maven.swagger.doc.visitor.RestVisitorAdapter;
+import com.github.wu191287278.maven.swagger.doc.visitor.SwaggerVisitorAdapter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.swagger.models.*;
 import io.swagger.models.auth.ApiKeyAuthDefinition;
 import io.swagger.models.auth.In;
-import io.swagger.parser.SwaggerParser;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,8 +46,7 @@ public class SwaggerDocs {
 
     private Logger log = LoggerFactory.getLogger(SwaggerDocs.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final SwaggerWriter swaggerWriter = new SwaggerWriter(true);
 
     private String title = "Api Documentation";
 
@@ -59,6 +60,30 @@ public class SwaggerDocs {
 
     private Boolean camel = true;
 
+    private File cacheDirectory;
+
+    private int compilationUnitCacheSize = 10000;
+
+    private int threads = 0;
+
+    /**
+     * 自动确定线程数时每个线程预留的堆内存, 每个线程有独立的语法树存储
+     */
+    private static final long HEAP_PER_THREAD = 256L * 1024 * 1024;
+
+    private boolean lazy = true;
+
+    private ModelRegistry modelRegistry;
+
+    /**
+     * 没有设置 modelRegistry 时为本次解析创建的远程文档缓存, 解析结束时关闭
+     */
+    private RemoteModelCache fallbackRemoteModels;
+
+    private PhaseReport phaseReport = new PhaseReport();
+
+    private TypeProfiler typeProfiler;
+
     public SwaggerDocs() {
     }
 
@@ -86,15 +111,8 @@ public class SwaggerDocs {
 
 
     public void writeTo(String path, Swagger swagger) {
-        File file = new File(path);
-        if (!file.getParentFile().exists()) {
-            file.getParentFile().mkdirs();
-        }
-
-        try (BufferedWriter out = new BufferedWriter(new FileWriter(file))) {
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(swagger);
-            out.write(json);
-            out.flush();
+        try {
+            swaggerWriter.write(swagger, new File(path));
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -102,130 +120,467 @@ public class SwaggerDocs {
 
     public Map<String, Swagger> parse(String sourceDirectory, String basePackage, String excludeBasePackage, List<String> libraries, Consumer<String> consumer) {
         log.info("Parsing " + sourceDirectory);
-        List<File> filteredDirectories = getSourceDirectories(sourceDirectory);
-        List<File> sourceDirectories = getSourceDirectories(sourceDirectory);
+        List<File> filteredDirectories;
+        List<File> sourceDirectories;
+        ExtractionCache extractionCache;
+        ChecksumCache checksumCache;
         Map<String, Swagger> swaggerMap = new TreeMap<>();
-        for (File filteredDirectory : filteredDirectories) {
-            String projectPath = filteredDirectory.getAbsolutePath().replace("src/main/java", "")
-                    .replace("src\\main\\java", "");
-            CombinedTypeSolver typeSolver = new CombinedTypeSolver();
-            for (File sourceFile : sourceDirectories) {
-                typeSolver.add(new JavaParserTypeSolver(sourceFile));
+        List<Module> modules = new ArrayList<>();
+        List<ExtractionWorker> workers = null;
+        ExecutorService executor = null;
+        ClasspathTypeSolver classpathTypeSolver = null;
+        JarMetadataCache jarMetadataCache = null;
+        try {
+            try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.DISCOVERY)) {
+                filteredDirectories = getSourceDirectories(sourceDirectory);
+                sourceDirectories = getSourceDirectories(sourceDirectory);
+                extractionCache = cacheDirectory == null ? null
+                        : new ExtractionCache(new File(cacheDirectory, "extraction"), fingerprint(basePackage, excludeBasePackage, libraries));
+                checksumCache = cacheDirectory == null ? null : new ChecksumCache(new File(cacheDirectory, "checksums.properties"));
+                for (File filteredDirectory : filteredDirectories) {
+                    String projectPath = filteredDirectory.getAbsolutePath().replace("src/main/java", "")
+                            .replace("src\\main\\java", "");
+                    Module module = new Module(new File(projectPath).getName());
+                    modules.add(module);
+
+                    // 每个源文件单独生成一个片段, 未变化的文件直接使用缓存
+                    for (File sourceFile : getSourceFiles(filteredDirectory)) {
+                        Swagger fragment = extractionCache == null ? null : extractionCache.get(module.name, sourceFile);
+                        module.fragments.put(sourceFile, fragment);
+                        if (fragment == null) {
+                            module.staleFiles.add(sourceFile);
+                        }
+                    }
+                    module.extractions = new Extraction[module.staleFiles.size()];
+                    if (extractionCache != null) {
+                        log.info("Cached " + (module.fragments.size() - module.staleFiles.size()) + "/" + module.fragments.size() + " source files of " + module.name);
+                    }
+                }
             }
 
-            try {
-                typeSolver.add(new ReflectionTypeSolver(false));
-                JarTypeSolver jarTypeSolver = null;
-                for (String library : libraries) {
-                    jarTypeSolver = JarTypeSolver.getJarTypeSolver(library);
+            // 外部模型在解析变化的源文件之后才校验, 远程文档的下载与发现源文件、建立类型解析器和解析同时进行,
+            // 外部模型变化时再解析使用缓存的源文件
+            boolean modelsChecked = extractionCache == null;
+            while (true) {
+                if (modules.stream().anyMatch(Module::hasPending)) {
+                    // 所有模块共用解析线程(每个线程独立的语法树存储和类型解析器), 在需要解析时才创建.
+                    // 各模块的源文件放在同一个队列中, 由各线程依次领取, 模块之间互不等待
+                    if (workers == null) {
+                        try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.TYPE_SOLVER)) {
+                            classpathTypeSolver = new ClasspathTypeSolver(libraries,
+                                    cacheDirectory == null ? null : new File(cacheDirectory, "classpath-index"), checksumCache);
+                            jarMetadataCache = new JarMetadataCache(classpathTypeSolver,
+                                    cacheDirectory == null ? null : new File(cacheDirectory, "jar-metadata"), checksumCache);
+                            workers = new ArrayList<>();
+                            int threads = getThreads();
+                            for (int i = 0; i < threads; i++) {
+                                workers.add(createWorker(sourceDirectories, classpathTypeSolver));
+                            }
+                            if (workers.size() > 1) {
+                                executor = Executors.newFixedThreadPool(workers.size(),
+                                        new ThreadFactoryBuilder().setNameFormat("swagger-extract-%d").setDaemon(true).build());
+                            }
+                        }
+                        // 每个模块在每个线程中使用新的 visitor, 语法树和类型解析器在模块之间复用
+                        for (Module module : modules) {
+                            for (int i = 0; i < workers.size(); i++) {
+                                SwaggerVisitorAdapter visitorAdapter = new SwaggerVisitorAdapter(consumer)
+                                        .setCamel(camel)
+                                        .setBasePackage(basePackage)
+                                        .setModelRegistry(getModelRegistry());
+                                visitorAdapter.getResolveSwaggerType()
+                                        .setJarMetadataCache(jarMetadataCache)
+                                        .setTypeProfiler(typeProfiler);
+                                module.visitors.add(visitorAdapter);
+                            }
+                        }
+                    }
+                    try (PhaseReport.Timer ignored = phaseReport.start(PhaseReport.EXTRACTION)) {
+                        extract(workers, executor, modules, excludeBasePackage);
+                    }
                 }
-                if (jarTypeSolver != null) {
-                    typeSolver.add(jarTypeSolver);
+                if (modelsChecked) {
+                    break;
+                }
+                modelsChecked = true;
+                String models = String.valueOf(getModelRegistry().getChecksum());
+                for (Module module : modules) {
+                    if (!models.equals(extractionCache.getModels(module.name)) && module.fragments.size() > module.staleFiles.size()) {
+                        log.info("External models changed, parsing cached source files of " + module.name);
+                        module.invalidateCached();
+                    }
+                    extractionCache.setModels(module.name, models);
                 }
-            } catch (Exception e) {
-                log.warn(e.getMessage());
             }
 
-            final RestVisitorAdapter restVisitorAdapter = new RestVisitorAdapter(consumer)
-                    .setCamel(camel)
-                    .setBasePackage(basePackage);
-            final JavaxRsVisitorAdapter javaxRsVisitorAdapter = new JavaxRsVisitorAdapter();
-            Info info = new Info()
-                    .title(this.title)
-                    .description(this.description)
-                    .version(this.version);
-            final Swagger swagger = new Swagger()
-                    .info(info)
-                    .paths(new TreeMap<>())
-                    .schemes(Arrays.asList(Scheme.HTTP, Scheme.HTTPS))
-                    .host(this.host)
-                    .basePath(this.basePath)
-                    .securityDefinition("api_key", new ApiKeyAuthDefinition("Authorization", In.HEADER));
-
-
-            ParserConfiguration parserConfiguration = new ParserConfiguration();
-            parserConfiguration.setSymbolResolver(new JavaSymbolSolver(typeSolver));
-
-            SourceRoot sourceRoot = new SourceRoot(Paths.get(filteredDirectory.getAbsolutePath()), parserConfiguration);
-            List<ParseResult<CompilationUnit>> parseResults = sourceRoot.tryToParseParallelized();
-            for (ParseResult<CompilationUnit> parseResult : parseResults) {
-                if (!parseResult.isSuccessful()) {
-                    continue;
+            for (Module module : modules) {
+                String projectName = module.name;
+                Info info = new Info()
+                        .title(this.title)
+                        .description(this.description)
+                        .version(this.version);
+                final Swagger swagger = new Swagger()
+                        .info(info)
+                        .paths(new TreeMap<>())
+                        .schemes(Arrays.asList(Scheme.HTTP, Scheme.HTTPS))
+                        .host(this.host)
+                        .basePath(this.basePath)
+                        .securityDefinition("api_key", new ApiKeyAuthDefinition("Authorization", In.HEADER));
+                Map<File, Swagger> fragments = module.fragments;
+                List<File> staleFiles = module.staleFiles;
+
+                Map<String, Model> modelMap = new LinkedHashMap<>();
+                if (!staleFiles.isEmpty()) {
+                    Extraction[] extractions = module.extractions;
+                    logPrefilter(projectName, workers, staleFiles, extractions);
+                    for (int i = 0; i < module.visitors.size(); i++) {
+                        log.info("Type resolution cache of " + projectName + (module.visitors.size() > 1 ? " #" + i : "") + ": "
+                                + module.visitors.get(i).getResolveSwaggerType().getCache());
+                    }
+
+                    // 按源文件顺序合并各线程的模型: 同名模型以最后登记它的源文件为准, 父类依赖按发现顺序重建
+                    PhaseReport.Timer dependencyMerge = phaseReport.start(PhaseReport.DEPENDENCY_MERGE);
+                    Map<String, SwaggerVisitorAdapter> owners = new HashMap<>();
+                    DependencyGraph dependencyGraph = new DependencyGraph();
+                    for (Extraction extraction : extractions) {
+                        for (String model : extraction.getTrace().getRegistered()) {
+                            owners.put(model, extraction.getVisitorAdapter());
+                        }
+                        for (List<String> dependency : extraction.getTrace().getDependencies()) {
+                            dependencyGraph.addDependency(dependency.get(0), dependency.get(1));
+                        }
+                    }
+                    Map<String, Model> workerModelMap = new TreeMap<>();
+                    for (SwaggerVisitorAdapter visitorAdapter : module.visitors) {
+                        collect(workerModelMap, visitorAdapter.getModelMap(), owners, visitorAdapter);
+                    }
+                    // 依赖先于子类合并完成, 每条继承关系只合并一次
+                    dependencyGraph.visit((name, dependency) -> {
+                        Model dependModel = workerModelMap.get(dependency);
+                        Model cur = workerModelMap.get(name);
+                        if(dependModel == null || cur == null || dependModel.getProperties() == null || cur.getProperties() == null) return;
+
+                        log.info("属性合并：" + name + " ====> " + dependency);
+                        cur.getProperties().putAll(dependModel.getProperties());
+                    });
+                    modelMap.putAll(workerModelMap);
+                    dependencyMerge.close();
+
+                    for (int i = 0; i < staleFiles.size(); i++) {
+                        File staleFile = staleFiles.get(i);
+                        Swagger fragment = extractions[i].getFragment();
+                        fragments.put(staleFile, fragment);
+                        for (String model : extractions[i].getTrace().getModels()) {
+                            if (modelMap.containsKey(model)) {
+                                fragment.model(model, modelMap.get(model));
+                            }
+                        }
+                        if (extractionCache != null) {
+                            extractionCache.put(projectName, staleFile, extractions[i].getTrace().getSources(), fragment);
+                        }
+                    }
                 }
-                Optional<CompilationUnit> result = parseResult.getResult();
-                if (!result.isPresent()) {
-                    continue;
+                if (extractionCache != null) {
+                    extractionCache.flush(projectName);
+                }
+
+                for (Swagger fragment : fragments.values()) {
+                    merge(swagger, fragment);
                 }
-                try {
-                    CompilationUnit r = result.get();
-                    if (excludeBasePackage != null && !excludeBasePackage.isEmpty()) {
-                        Optional<PackageDeclaration> packageDeclarationOptional = r.getPackageDeclaration();
-                        if (packageDeclarationOptional.isPresent()) {
-                            String packageName = packageDeclarationOptional.get().getNameAsString();
-                            if (packageName != null && packageName.startsWith(excludeBasePackage)) {
-                                continue;
+                for (Map.Entry<String, Model> entry : modelMap.entrySet()) {
+                    swagger.model(entry.getKey(), entry.getValue());
+                }
+
+                Set<String> includeTags = new HashSet<>();
+                if (swagger.getPaths() != null && !swagger.getPaths().isEmpty()) {
+                    swagger.getInfo().title(title);
+                    swagger.host(host);
+                    swagger.basePath(basePath);
+                    System.out.println(projectName);
+                    swaggerMap.put(projectName, swagger);
+                    for (Path path : swagger.getPaths().values()) {
+                        for (Operation operation : path.getOperations()) {
+                            if (operation.getTags() != null) {
+                                includeTags.addAll(operation.getTags());
                             }
+                            Map<String, List<String>> security = Stream.of("api_key")
+                                    .collect(Collectors.toMap(s -> s, s -> new ArrayList<>()));
+                            operation.setSecurity(Collections.singletonList(security));
                         }
                     }
+                }
 
-                    r.accept(javaxRsVisitorAdapter, swagger);
-                    r.accept(restVisitorAdapter, swagger);
-                } catch (Exception e) {
-                    log.error(e.getMessage(), e);
+                if (swagger.getTags() != null) {
+                    Map<String, Tag> m = new TreeMap<>();
+                    for (Tag tag : swagger.getTags()) {
+                        if (includeTags.contains(tag.getName())) {
+                            m.put(tag.getName(), tag);
+                        }
+                    }
+                    swagger.tags(new ArrayList<>(m.values()));
+                }
+            }
+            if (workers != null) {
+                for (int i = 0; i < workers.size(); i++) {
+                    log.info("Compilation units" + (workers.size() > 1 ? " #" + i : "") + ": " + workers.get(i).getCompilationUnitStore());
+                    workers.get(i).getCompilationUnitStore().report(phaseReport);
+                }
+                log.info("Jar metadata: " + jarMetadataCache);
+                jarMetadataCache.flush();
+            }
+        } finally {
+            // 解析失败时同样释放已打开的jar和解析线程
+            if (workers != null) {
+                for (ExtractionWorker worker : workers) {
+                    worker.getTypeSolver().close();
                 }
             }
+            if (classpathTypeSolver != null) {
+                classpathTypeSolver.close();
+            }
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (fallbackRemoteModels != null) {
+                fallbackRemoteModels.close();
+                fallbackRemoteModels = null;
+                modelRegistry = null;
+            }
+        }
+        if (checksumCache != null) {
+            checksumCache.save();
+        }
 
-            for (Map.Entry<String, Model> entry : javaxRsVisitorAdapter.getModelMap().entrySet()) {
-                swagger.model(entry.getKey(), entry.getValue());
+        return swaggerMap;
+    }
+
+    private ExtractionWorker createWorker(List<File> sourceDirectories, ClasspathTypeSolver classpathTypeSolver) {
+        // 控制器遍历与类型解析共用同一份语法树, 每个源文件在一个线程中只解析一次
+        ParserConfiguration parserConfiguration = new ParserConfiguration();
+        CompilationUnitStore compilationUnitStore = new CompilationUnitStore(parserConfiguration, compilationUnitCacheSize)
+                .setLazy(lazy);
+        SharedTypeSolver typeSolver = createTypeSolver(compilationUnitStore, sourceDirectories, classpathTypeSolver.fork());
+        parserConfiguration.setSymbolResolver(new JavaSymbolSolver(typeSolver));
+        // JavaParserFacade 以非线程安全的 WeakHashMap 缓存实例, 在启动解析线程之前创建好
+        JavaParserFacade.get(typeSolver);
+        return new ExtractionWorker(compilationUnitStore, typeSolver);
+    }
+
+    /**
+     * 由各线程依次领取各模块的源文件解析, 结果按源文件顺序保存在所属模块中, 与线程数无关
+     */
+    private void extract(List<ExtractionWorker> workers, ExecutorService executor, List<Module> modules, String excludeBasePackage) {
+        List<Module> taskModules = new ArrayList<>();
+        List<Integer> taskFiles = new ArrayList<>();
+        for (Module module : modules) {
+            for (int i = 0; i < module.staleFiles.size(); i++) {
+                if (module.extractions[i] == null) {
+                    taskModules.add(module);
+                    taskFiles.add(i);
+                }
             }
-            Map<String, Model> modelMap = restVisitorAdapter.getModelMap();
-            restVisitorAdapter.dependencyVisit((name, dependency) -> {
-                Model dependModel = modelMap.get(dependency);
-                Model cur = modelMap.get(name);
-                if(dependModel == null || cur == null || dependModel.getProperties() == null || cur.getProperties() == null) return;
-
-                log.info("属性合并：" + name + " ====> " + dependency);
-                cur.getProperties().putAll(dependModel.getProperties());
+        }
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int w = 0; w < workers.size(); w++) {
+            ExtractionWorker worker = workers.get(w);
+            int workerIndex = w;
+            tasks.add(() -> {
+                long cpuStart = PhaseReport.threadCpuNanos();
+                long allocatedStart = PhaseReport.threadAllocatedBytes();
+                for (int i = next.getAndIncrement(); i < taskModules.size(); i = next.getAndIncrement()) {
+                    Module module = taskModules.get(i);
+                    int file = taskFiles.get(i);
+                    module.extractions[file] = worker.extract(module.staleFiles.get(file), excludeBasePackage,
+                            module.visitors.get(workerIndex));
+                }
+                // 单线程时在调用线程中执行, 已由调用方计时
+                if (executor != null) {
+                    phaseReport.addUsage(PhaseReport.EXTRACTION, PhaseReport.threadCpuNanos() - cpuStart,
+                            PhaseReport.threadAllocatedBytes() - allocatedStart);
+                }
+                return null;
             });
-            for (Map.Entry<String, Model> entry : modelMap.entrySet()) {
-                swagger.model(entry.getKey(), entry.getValue());
+        }
+        try {
+            if (executor == null) {
+                tasks.get(0).call();
+            } else {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 统计没有控制器注解而跳过的文件, 按已解析文件的平均速度估算节省的解析时间(不包括之后被类型解析器解析的文件)
+     */
+    private void logPrefilter(String projectName, List<ExtractionWorker> workers, List<File> sourceFiles, Extraction[] extractions) {
+        int skipped = 0;
+        int loaded = 0;
+        long savedBytes = 0;
+        for (int i = 0; i < extractions.length; i++) {
+            if (!extractions[i].isSkipped()) {
+                continue;
+            }
+            skipped++;
+            java.nio.file.Path sourceFile = sourceFiles.get(i).toPath();
+            if (workers.stream().anyMatch(w -> w.getCompilationUnitStore().isLoaded(sourceFile))) {
+                loaded++;
+            } else {
+                savedBytes += sourceFiles.get(i).length();
             }
+        }
+        long parsedBytes = 0;
+        long parseNanos = 0;
+        for (ExtractionWorker worker : workers) {
+            parsedBytes += worker.getCompilationUnitStore().getParsedBytes();
+            parseNanos += worker.getCompilationUnitStore().getParseNanos();
+        }
+        long savedMillis = parsedBytes == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis((long) ((double) parseNanos / parsedBytes * savedBytes));
+        log.info("Prefilter skipped " + skipped + "/" + extractions.length + " source files of " + projectName
+                + " (" + loaded + " parsed on demand), saved ~" + savedMillis + "ms parsing");
+    }
 
-            Set<String> includeTags = new HashSet<>();
-            if (swagger.getPaths() != null && !swagger.getPaths().isEmpty()) {
-                String projectName = new File(projectPath).getName();
-                swagger.getInfo().title(title);
-                swagger.host(host);
-                swagger.basePath(basePath);
-                System.out.println(projectName);
-                swaggerMap.put(projectName, swagger);
-                for (Path path : swagger.getPaths().values()) {
-                    for (Operation operation : path.getOperations()) {
-                        if (operation.getTags() != null) {
-                            includeTags.addAll(operation.getTags());
-                        }
-                        Map<String, List<String>> security = Stream.of("api_key")
-                                .collect(Collectors.toMap(s -> s, s -> new ArrayList<>()));
-                        operation.setSecurity(Collections.singletonList(security));
-                    }
-                }
+    private void collect(Map<String, Model> target, Map<String, Model> models, Map<String, SwaggerVisitorAdapter> owners, SwaggerVisitorAdapter visitorAdapter) {
+        for (Map.Entry<String, Model> entry : models.entrySet()) {
+            SwaggerVisitorAdapter owner = owners.get(entry.getKey());
+            if (owner == null || owner == visitorAdapter) {
+                target.putIfAbsent(entry.getKey(), entry.getValue());
             }
+        }
+    }
 
-            if (swagger.getTags() != null) {
-                Map<String, Tag> m = new TreeMap<>();
-                for (Tag tag : swagger.getTags()) {
-                    if (includeTags.contains(tag.getName())) {
-                        m.put(tag.getName(), tag);
-                    }
+    /**
+     * 解析线程数, 小于等于0时按CPU核数和最大堆内存自动确定
+     */
+    private int getThreads() {
+        if (threads > 0) {
+            return threads;
+        }
+        long heapThreads = Runtime.getRuntime().maxMemory() / HEAP_PER_THREAD;
+        return (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), heapThreads));
+    }
+
+    private SharedTypeSolver createTypeSolver(CompilationUnitStore compilationUnitStore, List<File> sourceDirectories, ClasspathTypeSolver classpathTypeSolver) {
+        SharedTypeSolver typeSolver = new SharedTypeSolver();
+        for (File sourceFile : sourceDirectories) {
+            typeSolver.addSource(new CompilationUnitTypeSolver(sourceFile.toPath(), compilationUnitStore));
+        }
+
+        typeSolver.addLibrary(new ReflectionTypeSolver(false));
+        typeSolver.addLibrary(classpathTypeSolver);
+        return typeSolver;
+    }
+
+    private void merge(Swagger swagger, Swagger fragment) {
+        if (fragment.getPaths() != null) {
+            for (Map.Entry<String, Path> entry : fragment.getPaths().entrySet()) {
+                Path path = swagger.getPaths().get(entry.getKey());
+                if (path == null) {
+                    swagger.path(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                for (Map.Entry<HttpMethod, Operation> operationEntry : entry.getValue().getOperationMap().entrySet()) {
+                    path.set(operationEntry.getKey().name().toLowerCase(), operationEntry.getValue());
                 }
-                swagger.tags(new ArrayList<>(m.values()));
             }
         }
+        if (fragment.getTags() != null) {
+            for (Tag tag : fragment.getTags()) {
+                swagger.addTag(tag);
+            }
+        }
+        if (fragment.getDefinitions() != null) {
+            for (Map.Entry<String, Model> entry : fragment.getDefinitions().entrySet()) {
+                swagger.model(entry.getKey(), entry.getValue());
+            }
+        }
+    }
 
-        return swaggerMap;
+    /**
+     * 一个模块的源文件及解析结果
+     */
+    private static class Module {
+
+        private final String name;
+
+        /**
+         * 源文件 -> 片段, 按源文件顺序; 需要重新解析的文件在解析前为null
+         */
+        private final Map<File, Swagger> fragments = new LinkedHashMap<>();
+
+        private final List<File> staleFiles = new ArrayList<>();
+
+        /**
+         * 每个解析线程一个 visitor, 与 workers 一一对应
+         */
+        private final List<SwaggerVisitorAdapter> visitors = new ArrayList<>();
+
+        private Extraction[] extractions;
+
+        private Module(String name) {
+            this.name = name;
+        }
+
+        private boolean hasPending() {
+            return Arrays.asList(extractions).contains(null);
+        }
+
+        /**
+         * 使用缓存的源文件也需要重新解析, 按源文件顺序排列, 已解析的结果保留
+         */
+        private void invalidateCached() {
+            Map<File, Extraction> extracted = new HashMap<>();
+            for (int i = 0; i < staleFiles.size(); i++) {
+                extracted.put(staleFiles.get(i), extractions[i]);
+            }
+            staleFiles.clear();
+            staleFiles.addAll(fragments.keySet());
+            extractions = new Extraction[staleFiles.size()];
+            for (int i = 0; i < staleFiles.size(); i++) {
+                extractions[i] = extracted.get(staleFiles.get(i));
+            }
+            fragments.replaceAll((file, fragment) -> null);
+        }
+    }
+
+    private String fingerprint(String basePackage, String excludeBasePackage, List<String> libraries) {
+        Fingerprint fingerprint = new Fingerprint()
+                .add("pluginVersion", Fingerprint.pluginVersion())
+                .add("camel", camel)
+                .add("basePackage", basePackage)
+                .add("excludeBasePackage", excludeBasePackage)
+                .add("dateFormat", ResolveSwaggerType.DATE_FORMAT)
+                .add("timeFormat", ResolveSwaggerType.TIME_FORMAT)
+                .add("datetimeFormat", ResolveSwaggerType.DATETIME_FORMAT)
+                .add("recursionAncestor", ResolveSwaggerType.RECURSION_ANCESTOR)
+                .add("response", System.getProperty("response", ""))
+                .add("modelPath", System.getProperty("modelPath", ""));
+        for (String library : libraries) {
+            fingerprint.addFile(new File(library));
+        }
+        return fingerprint.toHex();
     }
 
-    private List<File> getSourceDirectories(String sourceDirectory) {
+    public List<File> getSourceFiles(File sourceDirectory) {
+        try (Stream<java.nio.file.Path> stream = Files.walk(sourceDirectory.toPath())) {
+            return stream.filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p))
+                    .sorted()
+                    .map(java.nio.file.Path::toFile)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    public List<File> getSourceDirectories(String sourceDirectory) {
         List<File> files = new ArrayList<>();
         filterSourceDirectory(sourceDirectory, files);
         return files;
@@ -266,43 +621,56 @@ public class SwaggerDocs {
         this.camel = camel;
     }
 
-    private static final Map<String, Model> MODEL_MAP = new ConcurrentHashMap<>();
+    /**
+     * 设置缓存目录, 为空时不使用缓存
+     */
+    public void setCacheDirectory(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
 
-    public static Map<String, Model> getModelMap() {
-        try {
-            String mergeModels = System.getProperty("modelPath", "");
-            if (StringUtils.isBlank(mergeModels) || !MODEL_MAP.isEmpty()) {
-                return MODEL_MAP;
-            }
-            String[] split = mergeModels.split(",");
-            for (String modelPath : split) {
-                modelPath = modelPath.trim();
-                if (modelPath.startsWith("classpath:")) {
-                    modelPath = modelPath.replace("classpath:", "");
-                    try (InputStream in = CLASSLOADER.getResourceAsStream(modelPath)) {
-                        if (in == null) {
-                            continue;
-                        }
-                        String swaggerFile = IOUtils.toString(in, StandardCharsets.UTF_8);
-                        Swagger modelSwagger = new SwaggerParser()
-                                .parse(swaggerFile);
-                        MODEL_MAP.putAll(modelSwagger.getDefinitions());
-                    } catch (IOException e) {
-                    }
-                }
-                if (modelPath.startsWith("http://") || modelPath.startsWith("https://")) {
-                    String swaggerFile = HttpUtil.get(modelPath);
-                    Swagger modelSwagger = new SwaggerParser()
-                            .parse(swaggerFile);
-                    MODEL_MAP.putAll(modelSwagger.getDefinitions());
-                }
-            }
-        } catch (Exception e) {
-        }
-        return MODEL_MAP;
+    public void setCompilationUnitCacheSize(int compilationUnitCacheSize) {
+        this.compilationUnitCacheSize = compilationUnitCacheSize;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * 延迟模式下只解析控制器和类型解析用到的源文件, 控制器遍历完即释放
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
     }
 
-    public static ClassLoader CLASSLOADER = SwaggerDocs.class.getClassLoader();
+    /**
+     * 外部模型, 没有设置时每次解析按系统属性 modelPath 加载
+     */
+    public void setModelRegistry(ModelRegistry modelRegistry) {
+        this.modelRegistry = modelRegistry;
+    }
+
+    /**
+     * 各阶段的耗时记录到调用方提供的报告中
+     */
+    public void setPhaseReport(PhaseReport phaseReport) {
+        this.phaseReport = phaseReport;
+    }
+
+    /**
+     * 按类型统计解析耗时, 为null时不统计
+     */
+    public void setTypeProfiler(TypeProfiler typeProfiler) {
+        this.typeProfiler = typeProfiler;
+    }
+
+    private ModelRegistry getModelRegistry() {
+        if (modelRegistry == null) {
+            fallbackRemoteModels = new RemoteModelCache(null);
+            modelRegistry = new ModelRegistry(System.getProperty("modelPath", ""), SwaggerDocs.class.getClassLoader(), fallbackRemoteModels);
+        }
+        return modelRegistry;
+    }
 }
 
 
@@ -0,0 +1,58 @@
+package com.github.wu191287278.maven.swagger.doc;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+import io.swagger.models.Swagger;
+
+/**
+ * 将 Swagger 直接以 UTF-8 流式写入文件, 不先生成完整的字符串.
+ * ObjectWriter 线程安全, 所有文件共用一个
+ *
+ * @author yu.wu
+ */
+public class SwaggerWriter {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+
+    private static final ObjectWriter PRETTY_WRITER = OBJECT_MAPPER.writerWithDefaultPrettyPrinter();
+
+    private static final ObjectWriter COMPACT_WRITER = OBJECT_MAPPER.writer();
+
+    private final ObjectWriter objectWriter;
+
+    /**
+     * @param pretty 是否格式化输出, false 时输出不带缩进和换行的 json
+     */
+    public SwaggerWriter(boolean pretty) {
+        this.objectWriter = pretty ? PRETTY_WRITER : COMPACT_WRITER;
+    }
+
+    /**
+     * 内容与已有文件相同时不会重写
+     *
+     * @return 文件内容是否发生变化
+     */
+    public boolean write(Swagger swagger, File file) throws IOException {
+        return AtomicFile.write(file, out -> write(swagger, out));
+    }
+
+    public byte[] toBytes(Swagger swagger) throws IOException {
+        return objectWriter.writeValueAsBytes(swagger);
+    }
+
+    /**
+     * 写入后不关闭输出流
+     */
+    public void write(Swagger swagger, OutputStream out) throws IOException {
+        objectWriter.writeValue(out, swagger);
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.wu191287278.maven.swagger.doc.cache;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * jar包等大文件的SHA-256缓存, 文件大小和修改时间不变时不重新计算
+ *
+ * @author yu.wu
+ */
+public class ChecksumCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ChecksumCache.class);
+
+    private final File file;
+
+    private final Map<String, String> checksums = new ConcurrentHashMap<>();
+
+    private volatile boolean changed = false;
+
+    public ChecksumCache(File file) {
+        this.file = file;
+        if (file.isFile()) {
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+                for (String name : properties.stringPropertyNames()) {
+                    checksums.put(name, properties.getProperty(name));
+                }
+            } catch (IOException e) {
+                log.warn(e.getMessage());
+            }
+        }
+    }
+
+    public String sha256(File jar) {
+        String key = jar.getAbsolutePath();
+        String stamp = jar.length() + ":" + jar.lastModified() + ":";
+        String value = checksums.get(key);
+        if (value != null && value.startsWith(stamp)) {
+            return value.substring(stamp.length());
+        }
+        if (!jar.isFile()) {
+            return "";
+        }
+        String sha256 = DigestUtil.sha256Hex(jar);
+        checksums.put(key, stamp + sha256);
+        changed = true;
+        return sha256;
+    }
+
+    public void save() {
+        if (!changed) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(new TreeMap<>(checksums));
+        file.getParentFile().mkdirs();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+            changed = false;
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.github.wu191287278.maven.swagger.doc.cache;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 按源文件缓存解析结果(接口、标签、模型), 源文件及其引用的模型文件内容没有变化时直接复用
+ *
+ * @author yu.wu
+ */
+public class ExtractionCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionCache.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final File directory;
+
+    private final String fingerprint;
+
+    private final Map<String, Module> modules = new ConcurrentHashMap<>();
+
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+
+    public ExtractionCache(File directory, String fingerprint) {
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * 获取源文件缓存的解析片段, 文件或其依赖发生变化时返回null
+     */
+    public Swagger get(String moduleName, File sourceFile) {
+        Module module = getModule(moduleName);
+        String path = sourceFile.getAbsolutePath();
+        Entry entry = module.getEntries().get(path);
+        if (entry == null || entry.getFragment() == null || !Objects.equals(entry.getHash(), hash(sourceFile))) {
+            return null;
+        }
+        for (Map.Entry<String, String> dependency : entry.getDependencies().entrySet()) {
+            if (!Objects.equals(dependency.getValue(), hash(new File(dependency.getKey())))) {
+                return null;
+            }
+        }
+        try {
+            Swagger fragment = new SwaggerParser().read(entry.getFragment(), false);
+            if (fragment != null) {
+                module.retained.add(path);
+            }
+            return fragment;
+        } catch (Exception e) {
+            log.warn(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 缓存的片段解析时使用的外部模型校验和, 外部模型在解析源码时才加载完成, 不包含在指纹中
+     */
+    public String getModels(String moduleName) {
+        return getModule(moduleName).getModels();
+    }
+
+    public void setModels(String moduleName, String models) {
+        getModule(moduleName).setModels(models);
+    }
+
+    public void put(String moduleName, File sourceFile, Set<String> dependencies, Swagger fragment) {
+        Module module = getModule(moduleName);
+        String path = sourceFile.getAbsolutePath();
+        Entry entry = new Entry();
+        entry.setHash(hash(sourceFile));
+        for (String dependency : dependencies) {
+            if (!dependency.equals(path)) {
+                entry.getDependencies().put(dependency, hash(new File(dependency)));
+            }
+        }
+        entry.setFragment(objectMapper.valueToTree(fragment));
+        module.getEntries().put(path, entry);
+        module.retained.add(path);
+    }
+
+    /**
+     * 写入磁盘, 本次没有用到的条目(已删除的文件)会被清理
+     */
+    public void flush(String moduleName) {
+        Module module = modules.get(moduleName);
+        if (module == null) {
+            return;
+        }
+        module.getEntries().keySet().retainAll(module.retained);
+        try {
+            directory.mkdirs();
+            objectMapper.writeValue(getFile(moduleName), module);
+        } catch (Exception e) {
+            log.warn(e.getMessage());
+        }
+    }
+
+    public String hash(File file) {
+        return hashes.computeIfAbsent(file.getAbsolutePath(), k -> file.isFile() ? DigestUtil.sha256Hex(file) : "");
+    }
+
+    private Module getModule(String moduleName) {
+        return modules.computeIfAbsent(moduleName, k -> {
+            File file = getFile(k);
+            if (file.isFile()) {
+                try {
+                    Module module = objectMapper.readValue(file, Module.class);
+                    if (fingerprint.equals(module.getFingerprint())) {
+                        return module;
+                    }
+                } catch (Exception e) {
+                    log.warn(e.getMessage());
+                }
+            }
+            Module module = new Module();
+            module.setFingerprint(fingerprint);
+            return module;
+        });
+    }
+
+    private File getFile(String moduleName) {
+        return new File(directory, moduleName + ".json");
+    }
+
+    public static class Module {
+
+        private String fingerprint;
+
+        private String models;
+
+        private Map<String, Entry> entries = new TreeMap<>();
+
+        private final Set<String> retained = ConcurrentHashMap.newKeySet();
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public void setFingerprint(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        public String getModels() {
+            return models;
+        }
+
+        public void setModels(String models) {
+            this.models = models;
+        }
+
+        public Map<String, Entry> getEntries() {
+            return entries;
+        }
+
+        public void setEntries(Map<String, Entry> entries) {
+            this.entries = new TreeMap<>(entries);
+        }
+    }
+
+    public static class Entry {
+
+        private String hash;
+
+        private Map<String, String> dependencies = new TreeMap<>();
+
+        private JsonNode fragment;
+
+        public String getHash() {
+            return hash;
+        }
+
+        public void setHash(String hash) {
+            this.hash = hash;
+        }
+
+        public Map<String, String> getDependencies() {
+            return dependencies;
+        }
+
+        public void setDependencies(Map<String, String> dependencies) {
+            this.dependencies = dependencies;
+        }
+
+        public JsonNode getFragment() {
+            return fragment;
+        }
+
+        public void setFragment(JsonNode fragment) {
+            this.fragment = fragment;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.github.wu191287278.maven.swagger.doc.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.solver.ClasspathTypeSolver;
+import javassist.CtClass;
+import javassist.CtField;
+import javassist.Modifier;
+import javassist.bytecode.AccessFlag;
+import javax.validation.constraints.*;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * jar包中模型类的字段注解(JsonProperty、JsonIgnore、校验注解)和枚举常量缓存.
+ * 按jar包的SHA-256保存, jar包不变时不再读取字节码中的注解
+ *
+ * @author yu.wu
+ */
+public class JarMetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JarMetadataCache.class);
+
+    private static final int VERSION = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_DEFAULT)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final ClasspathTypeSolver classpathTypeSolver;
+
+    private final File directory;
+
+    private final ChecksumCache checksumCache;
+
+    private final Map<File, Jar> jars = new HashMap<>();
+
+    private long hits;
+
+    private long misses;
+
+    /**
+     * @param directory     缓存目录, 为null时只在本次生成中缓存
+     * @param checksumCache directory 不为null时必须提供
+     */
+    public JarMetadataCache(ClasspathTypeSolver classpathTypeSolver, File directory, ChecksumCache checksumCache) {
+        this.classpathTypeSolver = classpathTypeSolver;
+        this.directory = directory;
+        this.checksumCache = checksumCache;
+    }
+
+    /**
+     * @param qualifiedName jar包中的类名, 内部类使用 . 分隔
+     * @return 类不在classpath索引中时返回null
+     */
+    public synchronized ClassMetadata get(String qualifiedName) {
+        File file = classpathTypeSolver.getJar(qualifiedName);
+        if (file == null) {
+            return null;
+        }
+        Jar jar = getJar(file);
+        ClassMetadata classMetadata = jar.getClasses().get(qualifiedName);
+        if (classMetadata != null) {
+            hits++;
+            return classMetadata;
+        }
+        misses++;
+        classMetadata = introspect(classpathTypeSolver.getCtClass(qualifiedName));
+        jar.getClasses().put(qualifiedName, classMetadata);
+        jar.changed = true;
+        return classMetadata;
+    }
+
+    public synchronized void flush() {
+        if (directory == null) {
+            return;
+        }
+        for (Map.Entry<File, Jar> entry : jars.entrySet()) {
+            Jar jar = entry.getValue();
+            if (!jar.changed) {
+                continue;
+            }
+            File file = new File(directory, jar.getChecksum() + ".json");
+            try {
+                directory.mkdirs();
+                File tmp = new File(directory, file.getName() + ".tmp");
+                objectMapper.writeValue(tmp, jar);
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                jar.changed = false;
+            } catch (IOException e) {
+                log.warn(e.getMessage());
+            }
+        }
+    }
+
+    private Jar getJar(File file) {
+        return jars.computeIfAbsent(file, f -> {
+            String checksum = directory == null ? f.getAbsolutePath() : checksumCache.sha256(f);
+            if (directory != null) {
+                File cacheFile = new File(directory, checksum + ".json");
+                if (cacheFile.isFile()) {
+                    try {
+                        Jar jar = objectMapper.readValue(cacheFile, Jar.class);
+                        if (jar.getVersion() == VERSION && checksum.equals(jar.getChecksum())) {
+                            return jar;
+                        }
+                    } catch (IOException e) {
+                        log.warn(e.getMessage());
+                    }
+                }
+            }
+            Jar jar = new Jar();
+            jar.setVersion(VERSION);
+            jar.setChecksum(checksum);
+            return jar;
+        });
+    }
+
+    private static ClassMetadata introspect(CtClass ctClass) {
+        ClassMetadata classMetadata = new ClassMetadata();
+        for (CtField ctField : ctClass.getDeclaredFields()) {
+            if ((ctField.getFieldInfo2().getAccessFlags() & AccessFlag.ENUM) != 0) {
+                classMetadata.getEnumConstants().add(ctField.getName());
+            }
+            if (Modifier.isStatic(ctField.getModifiers())) {
+                continue;
+            }
+            try {
+                classMetadata.getFields().put(ctField.getName(), introspect(ctField));
+            } catch (Exception e) {
+                log.warn(e.getMessage(), e);
+            }
+        }
+        return classMetadata;
+    }
+
+    private static FieldMetadata introspect(CtField ctField) throws ClassNotFoundException {
+        FieldMetadata fieldMetadata = new FieldMetadata();
+        JsonProperty jsonProperty = (JsonProperty) ctField.getAnnotation(JsonProperty.class);
+        if (jsonProperty != null && StringUtils.isNotBlank(jsonProperty.value())) {
+            fieldMetadata.setName(jsonProperty.value());
+        }
+        fieldMetadata.setIgnore(ctField.getAnnotation(JsonIgnore.class) != null);
+        fieldMetadata.setRequired(ctField.getAnnotation(NotBlank.class) != null || ctField.getAnnotation(NotEmpty.class) != null);
+        fieldMetadata.setUrl(ctField.hasAnnotation("URL"));
+        fieldMetadata.setEmail(ctField.hasAnnotation("Email"));
+        Pattern pattern = (Pattern) ctField.getAnnotation(Pattern.class);
+        if (pattern != null) {
+            fieldMetadata.setPattern(pattern.regexp());
+        }
+        Size size = (Size) ctField.getAnnotation(Size.class);
+        if (size != null) {
+            fieldMetadata.setSizeMin(size.min());
+            fieldMetadata.setSizeMax(size.max());
+        }
+        DecimalMax decimalMax = (DecimalMax) ctField.getAnnotation(DecimalMax.class);
+        if (decimalMax != null) {
+            fieldMetadata.setDecimalMax(decimalMax.value());
+        }
+        DecimalMin decimalMin = (DecimalMin) ctField.getAnnotation(DecimalMin.class);
+        if (decimalMin != null) {
+            fieldMetadata.setDecimalMin(decimalMin.value());
+        }
+        return fieldMetadata;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "jars=" + jars.size() + ", hits=" + hits + ", misses=" + misses;
+    }
+
+    public static class Jar {
+
+        private int version;
+
+        private String checksum;
+
+        private Map<String, ClassMetadata> classes = new TreeMap<>();
+
+        private boolean changed;
+
+        public int getVersion() {
+            return version;
+        }
+
+        public void setVersion(int version) {
+            this.version = version;
+        }
+
+        public String getChecksum() {
+            return checksum;
+        }
+
+        public void setChecksum(String checksum) {
+            this.checksum = checksum;
+        }
+
+        public Map<String, ClassMetadata> getClasses() {
+            return classes;
+        }
+
+        public void setClasses(Map<String, ClassMetadata> classes) {
+            this.classes = classes;
+        }
+    }
+
+    public static class ClassMetadata {
+
+        private Map<String, FieldMetadata> fields = new LinkedHashMap<>();
+
+        private List<String> enumConstants = new ArrayList<>();
+
+        public Map<String, FieldMetadata> getFields() {
+            return fields;
+        }
+
+        public void setFields(Map<String, FieldMetadata> fields) {
+            this.fields = fields;
+        }
+
+        public List<String> getEnumConstants() {
+            return enumConstants;
+        }
+
+        public void setEnumConstants(List<String> enumConstants) {
+            this.enumConstants = enumConstants;
+        }
+    }
+
+    public static class FieldMetadata {
+
+        /**
+         * JsonProperty 指定的名称
+         */
+        private String name;
+
+        private boolean ignore;
+
+        private boolean required;
+
+        private boolean url;
+
+        private boolean email;
+
+        private String pattern;
+
+        private Integer sizeMin;
+
+        private Integer sizeMax;
+
+        private String decimalMin;
+
+        private String decimalMax;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isIgnore() {
+            return ignore;
+        }
+
+        public void setIgnore(boolean ignore) {
+            this.ignore = ignore;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public void setRequired(boolean required) {
+            this.required = required;
+        }
+
+        public boolean isUrl() {
+            return url;
+        }
+
+        public void setUrl(boolean url) {
+            this.url = url;
+        }
+
+        public boolean isEmail() {
+            return email;
+        }
+
+        public void setEmail(boolean email) {
+            this.email = email;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public Integer getSizeMin() {
+            return sizeMin;
+        }
+
+        public void setSizeMin(Integer sizeMin) {
+            this.sizeMin = sizeMin;
+        }
+
+        public Integer getSizeMax() {
+            return sizeMax;
+        }
+
+        public void setSizeMax(Integer sizeMax) {
+            this.sizeMax = sizeMax;
+        }
+
+        public String getDecimalMin() {
+            return decimalMin;
+        }
+
+        public void setDecimalMin(String decimalMin) {
+            this.decimalMin = decimalMin;
+        }
+
+        public String getDecimalMax() {
+            return decimalMax;
+        }
+
+        public void setDecimalMax(String decimalMax) {
+            this.decimalMax = decimalMax;
+        }
+    }
+}
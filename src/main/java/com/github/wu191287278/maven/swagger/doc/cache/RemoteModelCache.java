@@ -0,0 +1,217 @@
+package com.github.wu191287278.maven.swagger.doc.cache;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import cn.hutool.crypto.digest.DigestUtil;
+import cn.hutool.http.HttpRequest;
+import cn.hutool.http.HttpResponse;
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 远程(http/https) modelPath 文档的缓存. 每个地址只请求、解析一次, 多个地址并发请求;
+ * 配置了缓存目录时按 ETag / Last-Modified 重新验证, 未修改或请求失败时使用上一次下载的文档.
+ * 用完后关闭, 停止请求线程
+ *
+ * @author yu.wu
+ */
+public class RemoteModelCache implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteModelCache.class);
+
+    private static final String ETAG = "etag";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private final File directory;
+
+    private int connectTimeout = 5000;
+
+    private int readTimeout = 30000;
+
+    private final Map<String, Future<Document>> documents = new ConcurrentHashMap<>();
+
+    private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "swagger-model-fetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param directory 缓存目录, 为null时只缓存在内存中
+     */
+    public RemoteModelCache(File directory) {
+        this.directory = directory;
+    }
+
+    public static boolean isRemote(String modelPath) {
+        return modelPath.startsWith("http://") || modelPath.startsWith("https://");
+    }
+
+    /**
+     * 在后台开始请求逗号分隔的 modelPath 中所有远程地址
+     */
+    public void prefetch(String modelPaths) {
+        if (StringUtils.isBlank(modelPaths)) {
+            return;
+        }
+        for (String modelPath : modelPaths.split(",")) {
+            modelPath = modelPath.trim();
+            if (isRemote(modelPath)) {
+                submit(modelPath);
+            }
+        }
+    }
+
+    public void prefetch(Collection<String> urls) {
+        urls.forEach(this::submit);
+    }
+
+    /**
+     * @return 文档内容, 请求失败且没有缓存时返回null
+     */
+    public String getBody(String url) {
+        Document document = get(url);
+        return document == null ? null : document.body;
+    }
+
+    /**
+     * 解析后的文档, 同一个地址共用一个实例, 调用方不能修改
+     *
+     * @return 请求失败且没有缓存时返回null
+     */
+    public Swagger getSwagger(String url) {
+        Document document = get(url);
+        return document == null ? null : document.swagger;
+    }
+
+    private Document get(String url) {
+        try {
+            return submit(url).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (failed.add(url)) {
+                log.warn("Failed to fetch " + url + ": " + e.getCause());
+            }
+            return null;
+        }
+    }
+
+    private Future<Document> submit(String url) {
+        return documents.computeIfAbsent(url, u -> executor.submit(() -> fetch(u)));
+    }
+
+    private Document fetch(String url) throws IOException {
+        File bodyFile = directory == null ? null : new File(directory, DigestUtil.sha256Hex(url) + ".json");
+        File metaFile = directory == null ? null : new File(directory, DigestUtil.sha256Hex(url) + ".properties");
+        Properties meta = new Properties();
+        boolean cached = bodyFile != null && bodyFile.isFile() && metaFile.isFile();
+        if (cached) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(metaFile), StandardCharsets.UTF_8)) {
+                meta.load(reader);
+            }
+        }
+
+        HttpRequest request = HttpRequest.get(url)
+                .setConnectionTimeout(connectTimeout)
+                .setReadTimeout(readTimeout);
+        if (cached && meta.getProperty(ETAG) != null) {
+            request.header("If-None-Match", meta.getProperty(ETAG));
+        }
+        if (cached && meta.getProperty(LAST_MODIFIED) != null) {
+            request.header("If-Modified-Since", meta.getProperty(LAST_MODIFIED));
+        }
+
+        String body;
+        try (HttpResponse response = request.execute()) {
+            if (cached && response.getStatus() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                log.debug("Not modified " + url);
+                body = readCached(bodyFile);
+            } else if (response.isOk()) {
+                body = new String(response.bodyBytes(), StandardCharsets.UTF_8);
+                if (directory != null) {
+                    store(bodyFile, metaFile, body, response);
+                }
+            } else if (cached) {
+                log.warn("Fetching " + url + " returned " + response.getStatus() + ", using cached copy");
+                body = readCached(bodyFile);
+            } else {
+                throw new IOException("Fetching " + url + " returned " + response.getStatus());
+            }
+        } catch (RuntimeException e) {
+            // 连接失败、超时
+            if (!cached) {
+                throw new IOException(e.getMessage(), e);
+            }
+            log.warn("Failed to fetch " + url + ", using cached copy: " + e.getMessage());
+            body = readCached(bodyFile);
+        }
+        return new Document(body, new SwaggerParser().parse(body));
+    }
+
+    private String readCached(File bodyFile) throws IOException {
+        return new String(Files.readAllBytes(bodyFile.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private void store(File bodyFile, File metaFile, String body, HttpResponse response) {
+        Properties meta = new Properties();
+        if (response.header("ETag") != null) {
+            meta.setProperty(ETAG, response.header("ETag"));
+        }
+        if (response.header("Last-Modified") != null) {
+            meta.setProperty(LAST_MODIFIED, response.header("Last-Modified"));
+        }
+        try {
+            AtomicFile.write(bodyFile, body.getBytes(StandardCharsets.UTF_8));
+            AtomicFile.write(metaFile, out -> meta.store(new OutputStreamWriter(out, StandardCharsets.UTF_8), null));
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+        }
+    }
+
+    public RemoteModelCache setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    public RemoteModelCache setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    /**
+     * 停止请求线程, 未完成的请求被中断, 之后不能再请求
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static class Document {
+
+        private final String body;
+
+        private final Swagger swagger;
+
+        private Document(String body, Swagger swagger) {
+            this.body = body;
+            this.swagger = swagger;
+        }
+    }
+}
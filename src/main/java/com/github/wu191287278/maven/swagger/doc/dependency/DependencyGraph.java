@@ -1,35 +1,280 @@
 package com.github.wu191287278.maven.swagger.doc.dependency;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.function.BiConsumer;
 
 /**
+ * 类型继承依赖图. 节点按名称编号, 边保存在整数数组中.
+ * 加入依赖时按层级做增量环检测 (Bender-Fineman-Gilbert-Tarjan): 每条边都满足 父节点层级 <= 子节点层级,
+ * 只在同一层级内有限地向上搜索, 再把子节点及其后代的层级提升. 搜索和遍历都是迭代的, 继承层级很深时也不会栈溢出
+ *
  * @author shenglin.li  2022/10/9 14:50
  * @version 1.0
  */
 public class DependencyGraph {
-    private Map<String, GraphNode> nodeIndex = new HashMap();
-    private Set<GraphNode> root = new HashSet<>();
 
-    public void addDependency(String nodeName, String dependency) {
-        GraphNode p = nodeIndex.compute(nodeName, (k, v) -> v == null ? new GraphNode(k) : v);
-        GraphNode c = nodeIndex.compute(dependency, (k, v) -> v == null ? new GraphNode(k) : v);
-        if(c.inChild(p)) { // 循环引用则放弃
+    private final Map<String, Integer> nodeIndex = new HashMap<>();
+
+    private final List<String> names = new ArrayList<>();
+
+    private final List<IntList> children = new ArrayList<>();
+
+    /**
+     * 同一层级的父节点, 只用于向上搜索
+     */
+    private final List<IntList> sameLevelParents = new ArrayList<>();
+
+    private final Set<Long> edges = new HashSet<>();
+
+    private int[] level = new int[16];
+
+    private int[] parentCount = new int[16];
+
+    /**
+     * 与原实现一致: 节点添加依赖时没有父节点则作为根, 否则移出根
+     */
+    private final Set<Integer> root = new LinkedHashSet<>();
+
+    private final BitSet backward = new BitSet();
+
+    private final IntList backwardNodes = new IntList();
+
+    private final IntList stack = new IntList();
+
+    /**
+     * 本次插入修改过的层级和同层级父节点, 发现循环时按相反顺序恢复
+     */
+    private final IntList undoNodes = new IntList();
+
+    private final IntList undoValues = new IntList();
+
+    private final List<IntList> undoParents = new ArrayList<>();
+
+    public synchronized void addDependency(String nodeName, String dependency) {
+        int p = index(nodeName);
+        int c = index(dependency);
+        if (p == c) {
             return;
         }
-
-        p.addDependency(c);
-        if (p.haveParent()) {
+        if (!edges.contains(edge(p, c))) {
+            if (!insert(p, c)) { // 循环引用则放弃
+                return;
+            }
+            edges.add(edge(p, c));
+            children.get(p).add(c);
+            parentCount[c]++;
+            if (level[p] == level[c]) {
+                sameLevelParents.get(c).add(p);
+            }
+        }
+        if (parentCount[p] > 0) {
             root.remove(p);
         } else {
             root.add(p);
         }
     }
 
-    public void visit(BiConsumer<String, String> consumer) {
-        root.forEach(e -> e.visit(consumer));
+    /**
+     * 按逆拓扑顺序访问每条边一次: 节点的所有依赖访问完之后才访问该节点指向依赖的边, 同一节点的依赖按加入顺序访问.
+     * 被多个类型共同继承的节点只展开一次
+     */
+    public synchronized void visit(BiConsumer<String, String> consumer) {
+        BitSet visited = new BitSet(names.size());
+        int[] cursor = new int[names.size()];
+        IntList path = new IntList();
+        for (int node : root) {
+            if (visited.get(node)) {
+                continue;
+            }
+            path.add(node);
+            while (path.size() > 0) {
+                int current = path.get(path.size() - 1);
+                IntList nodeChildren = children.get(current);
+                if (cursor[current] == nodeChildren.size()) {
+                    visited.set(current);
+                    path.removeLast();
+                    continue;
+                }
+                int child = nodeChildren.get(cursor[current]);
+                if (visited.get(child) || children.get(child).size() == 0) {
+                    consumer.accept(names.get(current), names.get(child));
+                    cursor[current]++;
+                } else {
+                    path.add(child);
+                }
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return names.size();
+    }
+
+    private int index(String name) {
+        Integer index = nodeIndex.get(name);
+        if (index != null) {
+            return index;
+        }
+        int node = names.size();
+        nodeIndex.put(name, node);
+        names.add(name);
+        children.add(new IntList());
+        sameLevelParents.add(new IntList());
+        if (node == level.length) {
+            level = Arrays.copyOf(level, node * 2);
+            parentCount = Arrays.copyOf(parentCount, node * 2);
+        }
+        return node;
+    }
+
+    /**
+     * 加入边 p -> c 前调整层级
+     *
+     * @return c 能到达 p 即存在循环时返回false
+     */
+    private boolean insert(int p, int c) {
+        if (level[p] < level[c]) {
+            return true;
+        }
+        try {
+            // 1. 从 p 沿同层级的父节点向上搜索, 最多经过 limit 条边
+            int limit = Math.max(1, (int) Math.sqrt(edges.size()));
+            int traversed = 0;
+            stack.clear();
+            mark(p);
+            stack.add(p);
+            while (stack.size() > 0 && traversed < limit) {
+                IntList parents = sameLevelParents.get(stack.removeLast());
+                for (int i = 0; i < parents.size() && traversed < limit; i++, traversed++) {
+                    int parent = parents.get(i);
+                    if (parent == c) {
+                        return false;
+                    }
+                    if (!backward.get(parent)) {
+                        mark(parent);
+                        stack.add(parent);
+                    }
+                }
+            }
+
+            // 2. 搜索完整且层级相同时 c 不可能到达 p; 否则提升 c 的层级, 搜索未完成时只保留 p
+            if (stack.size() == 0 && traversed < limit) {
+                if (level[c] == level[p]) {
+                    return true;
+                }
+                raise(c, level[p]);
+            } else {
+                unmark();
+                mark(p);
+                raise(c, level[p] + 1);
+            }
+
+            // 3. 从 c 向下把层级低于父节点的后代提升到相同层级, 碰到向上搜索到的节点即是循环, 撤销本次的修改
+            stack.clear();
+            stack.add(c);
+            while (stack.size() > 0) {
+                int node = stack.removeLast();
+                IntList nodeChildren = children.get(node);
+                for (int i = 0; i < nodeChildren.size(); i++) {
+                    int child = nodeChildren.get(i);
+                    if (backward.get(child)) {
+                        rollback();
+                        return false;
+                    }
+                    if (level[child] == level[node]) {
+                        addSameLevelParent(child, node);
+                    } else if (level[child] < level[node]) {
+                        raise(child, level[node]);
+                        addSameLevelParent(child, node);
+                        stack.add(child);
+                    }
+                }
+            }
+            return true;
+        } finally {
+            unmark();
+            undoNodes.clear();
+            undoValues.clear();
+            undoParents.clear();
+        }
+    }
+
+    private void raise(int node, int newLevel) {
+        undoNodes.add(node);
+        undoValues.add(level[node]);
+        undoParents.add(sameLevelParents.get(node));
+        level[node] = newLevel;
+        sameLevelParents.set(node, new IntList());
+    }
+
+    private void addSameLevelParent(int node, int parent) {
+        IntList parents = sameLevelParents.get(node);
+        undoNodes.add(node);
+        undoValues.add(parents.size());
+        undoParents.add(null);
+        parents.add(parent);
+    }
+
+    private void rollback() {
+        for (int i = undoNodes.size() - 1; i >= 0; i--) {
+            int node = undoNodes.get(i);
+            IntList parents = undoParents.get(i);
+            if (parents == null) {
+                sameLevelParents.get(node).truncate(undoValues.get(i));
+            } else {
+                level[node] = undoValues.get(i);
+                sameLevelParents.set(node, parents);
+            }
+        }
+    }
+
+    private void mark(int node) {
+        backward.set(node);
+        backwardNodes.add(node);
+    }
+
+    private void unmark() {
+        for (int i = 0; i < backwardNodes.size(); i++) {
+            backward.clear(backwardNodes.get(i));
+        }
+        backwardNodes.clear();
+    }
+
+    private static long edge(int p, int c) {
+        return ((long) p << 32) | (c & 0xffffffffL);
+    }
+
+    private static class IntList {
+
+        private int[] values = new int[4];
+
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int i) {
+            return values[i];
+        }
+
+        int removeLast() {
+            return values[--size];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void truncate(int size) {
+            this.size = size;
+        }
+
+        void clear() {
+            size = 0;
+        }
     }
 }
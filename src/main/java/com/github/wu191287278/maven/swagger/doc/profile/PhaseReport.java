@@ -0,0 +1,175 @@
+package com.github.wu191287278.maven.swagger.doc.profile;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.utils.AtomicFile;
+
+/**
+ * 一次生成中各阶段的耗时、CPU时间和堆分配. 同一阶段可以多次计时, 结果累加;
+ * 在其它线程中执行的部分通过 {@link #addUsage} 补充 CPU时间和堆分配
+ *
+ * @author yu.wu
+ */
+public class PhaseReport {
+
+    public static final String FINGERPRINT = "fingerprint";
+
+    public static final String DISCOVERY = "discovery";
+
+    public static final String TYPE_SOLVER = "typeSolver";
+
+    public static final String PARSING = "parsing";
+
+    public static final String EXTRACTION = "extraction";
+
+    public static final String DEPENDENCY_MERGE = "dependencyMerge";
+
+    public static final String MODEL_MERGE = "modelMerge";
+
+    public static final String SERIALIZATION = "serialization";
+
+    public static final String COMPRESSION = "compression";
+
+    public static final String UI = "ui";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final long start = System.nanoTime();
+
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    public Timer start(String name) {
+        return new Timer(name);
+    }
+
+    /**
+     * 其它线程中的 CPU时间和堆分配, 计入阶段但不增加耗时
+     */
+    public synchronized void addUsage(String name, long cpuNanos, long allocatedBytes) {
+        Phase phase = phase(name);
+        phase.cpuNanos += cpuNanos;
+        phase.allocatedBytes += allocatedBytes;
+    }
+
+    /**
+     * 包含在其它阶段中、由各线程分别累计的耗时, 例如语法解析
+     */
+    public synchronized void addNested(String name, long wallNanos, long cpuNanos, long allocatedBytes, int count) {
+        Phase phase = phase(name);
+        phase.nested = true;
+        phase.wallNanos += wallNanos;
+        phase.cpuNanos += cpuNanos;
+        phase.allocatedBytes += allocatedBytes;
+        phase.count += count;
+    }
+
+    private synchronized void add(String name, long wallNanos, long cpuNanos, long allocatedBytes) {
+        Phase phase = phase(name);
+        phase.wallNanos += wallNanos;
+        phase.cpuNanos += cpuNanos;
+        phase.allocatedBytes += allocatedBytes;
+        phase.count++;
+    }
+
+    private Phase phase(String name) {
+        return phases.computeIfAbsent(name, k -> new Phase());
+    }
+
+    /**
+     * 每个阶段一行: 名称、耗时、CPU时间、堆分配, 包含在其它阶段中的用 * 标记
+     */
+    public synchronized List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-18s %10s %10s %12s", "phase", "wall", "cpu", "allocated"));
+        for (Map.Entry<String, Phase> entry : phases.entrySet()) {
+            Phase phase = entry.getValue();
+            lines.add(String.format("%-18s %8dms %8dms %10dMB", entry.getKey() + (phase.nested ? "*" : ""),
+                    phase.wallNanos / 1000000, phase.cpuNanos / 1000000, phase.allocatedBytes / 1024 / 1024));
+        }
+        lines.add(String.format("%-18s %8dms", "total", (System.nanoTime() - start) / 1000000));
+        if (phases.values().stream().anyMatch(p -> p.nested)) {
+            lines.add("* included in other phases");
+        }
+        return lines;
+    }
+
+    public synchronized void write(File file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("totalMs", (System.nanoTime() - start) / 1000000);
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Map.Entry<String, Phase> entry : phases.entrySet()) {
+            Phase phase = entry.getValue();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", entry.getKey());
+            item.put("wallMs", phase.wallNanos / 1000000);
+            item.put("cpuMs", phase.cpuNanos / 1000000);
+            item.put("allocatedBytes", phase.allocatedBytes);
+            item.put("count", phase.count);
+            item.put("nested", phase.nested);
+            list.add(item);
+        }
+        report.put("phases", list);
+        AtomicFile.write(file, new ObjectMapper().writerWithDefaultPrettyPrinter().writeValueAsBytes(report));
+    }
+
+    /**
+     * 当前线程的 CPU时间, 不支持时返回0
+     */
+    public static long threadCpuNanos() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * 当前线程累计分配的堆内存, 不支持时返回0
+     */
+    public static long threadAllocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 在开始计时的线程中关闭
+     */
+    public class Timer implements AutoCloseable {
+
+        private final String name;
+
+        private final long wallStart = System.nanoTime();
+
+        private final long cpuStart = threadCpuNanos();
+
+        private final long allocatedStart = threadAllocatedBytes();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            add(name, System.nanoTime() - wallStart, threadCpuNanos() - cpuStart, threadAllocatedBytes() - allocatedStart);
+        }
+    }
+
+    private static class Phase {
+
+        private long wallNanos;
+
+        private long cpuNanos;
+
+        private long allocatedBytes;
+
+        private int count;
+
+        private boolean nested;
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.wu191287278.maven.swagger.doc.profile;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按类型统计解析耗时: 调用次数、累计耗时(递归解析同一类型时只计最外层)、自身耗时(不含嵌套解析的其它类型)、
+ * 最大嵌套深度以及类型来自源码、Javassist(jar包)还是反射. 各解析线程分别记录调用栈, 结果汇总在一起
+ *
+ * @author yu.wu
+ */
+public class TypeProfiler {
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * 当前线程调用栈中每个类型出现的次数
+     */
+    private final ThreadLocal<Map<String, Integer>> active = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param key 类型名, 解析前还不知道类型时为null, 在 {@link #exit} 时提供
+     */
+    public Frame enter(String key) {
+        Deque<Frame> stack = frames.get();
+        Frame frame = new Frame(key, stack.size() + 1);
+        if (key != null) {
+            active.get().merge(key, 1, Integer::sum);
+        }
+        stack.push(frame);
+        return frame;
+    }
+
+    public void exit(Frame frame, String key, String origin) {
+        long elapsed = System.nanoTime() - frame.start;
+        Deque<Frame> stack = frames.get();
+        stack.pop();
+        if (!stack.isEmpty()) {
+            stack.peek().childNanos += elapsed;
+        }
+        boolean outermost;
+        if (frame.key != null) {
+            key = frame.key;
+            Map<String, Integer> counts = active.get();
+            outermost = counts.merge(key, -1, Integer::sum) == 0;
+            if (outermost) {
+                counts.remove(key);
+            }
+        } else {
+            outermost = !active.get().containsKey(key);
+        }
+        Stats typeStats = stats.computeIfAbsent(key, k -> new Stats());
+        synchronized (typeStats) {
+            typeStats.calls++;
+            typeStats.selfNanos += elapsed - frame.childNanos;
+            if (outermost) {
+                typeStats.totalNanos += elapsed;
+            }
+            typeStats.maxDepth = Math.max(typeStats.maxDepth, frame.depth);
+            if (origin != null) {
+                typeStats.origin = origin;
+            }
+        }
+    }
+
+    /**
+     * 自身耗时最多的前 n 个类型, 每个类型一行
+     */
+    public List<String> top(int n) {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().selfNanos, a.getValue().selfNanos));
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%10s %10s %8s %6s %-10s %s", "self", "total", "calls", "depth", "origin", "type"));
+        for (Map.Entry<String, Stats> entry : entries.subList(0, Math.min(n, entries.size()))) {
+            Stats typeStats = entry.getValue();
+            lines.add(String.format("%8.1fms %8.1fms %8d %6d %-10s %s", typeStats.selfNanos / 1e6, typeStats.totalNanos / 1e6,
+                    typeStats.calls, typeStats.maxDepth, typeStats.origin, entry.getKey()));
+        }
+        return lines;
+    }
+
+    public int size() {
+        return stats.size();
+    }
+
+    public static class Frame {
+
+        private final String key;
+
+        private final int depth;
+
+        private final long start = System.nanoTime();
+
+        private long childNanos;
+
+        private Frame(String key, int depth) {
+            this.key = key;
+            this.depth = depth;
+        }
+    }
+
+    private static class Stats {
+
+        private long calls;
+
+        private long totalNanos;
+
+        private long selfNanos;
+
+        private int maxDepth;
+
+        private String origin = "-";
+    }
+}
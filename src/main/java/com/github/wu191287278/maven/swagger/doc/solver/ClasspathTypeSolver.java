@@ -0,0 +1,286 @@
+package com.github.wu191287278.maven.swagger.doc.solver;
+
+import java.io.*;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import com.github.wu191287278.maven.swagger.doc.cache.ChecksumCache;
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 编译classpath上所有jar包的类型解析器. 启动时并行建立 类名 -> jar包 的索引,
+ * 只有真正用到的类才读取字节码. 索引按jar包的SHA-256保存在缓存目录中, jar包不变时不再扫描
+ *
+ * @author yu.wu
+ */
+public class ClasspathTypeSolver implements TypeSolver, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ClasspathTypeSolver.class);
+
+    private final List<File> jars;
+
+    /**
+     * 以 / 分隔包名、$ 分隔内部类的类名 -> jar包下标
+     */
+    private final Map<String, Integer> index;
+
+    private final ZipFile[] zipFiles;
+
+    private final ClassPool classPool = new ClassPool(false);
+
+    private TypeSolver parent;
+
+    /**
+     * @param indexDirectory 索引缓存目录, 为null时不缓存
+     * @param checksumCache  jar包校验和缓存, indexDirectory 不为null时必须提供
+     */
+    public ClasspathTypeSolver(List<String> libraries, File indexDirectory, ChecksumCache checksumCache) {
+        this.jars = new ArrayList<>();
+        this.index = new HashMap<>();
+        for (String library : libraries) {
+            File jar = new File(library);
+            if (jar.isFile()) {
+                jars.add(jar);
+            }
+        }
+        this.zipFiles = new ZipFile[jars.size()];
+
+        long start = System.currentTimeMillis();
+        AtomicInteger cached = new AtomicInteger();
+        List<List<String>> classNames = IntStream.range(0, jars.size())
+                .parallel()
+                .mapToObj(i -> {
+                    File jar = jars.get(i);
+                    if (indexDirectory == null) {
+                        return scan(jar);
+                    }
+                    File indexFile = new File(indexDirectory, checksumCache.sha256(jar) + ".idx");
+                    List<String> names = read(indexFile);
+                    if (names != null) {
+                        cached.incrementAndGet();
+                        return names;
+                    }
+                    names = scan(jar);
+                    write(indexFile, names);
+                    return names;
+                })
+                .collect(Collectors.toList());
+        // 与类加载顺序一致, 同名类以classpath中靠前的jar包为准
+        for (int i = 0; i < classNames.size(); i++) {
+            for (String className : classNames.get(i)) {
+                index.putIfAbsent(className, i);
+            }
+        }
+        classPool.appendClassPath(new IndexedClassPath());
+        classPool.appendSystemPath();
+        log.info("Indexed " + index.size() + " classes of " + jars.size() + " jars (" + cached.get() + " from cache) in "
+                + (System.currentTimeMillis() - start) + "ms");
+    }
+
+    private ClasspathTypeSolver(ClasspathTypeSolver source) {
+        this.jars = source.jars;
+        this.index = source.index;
+        this.zipFiles = source.zipFiles;
+        classPool.appendClassPath(new IndexedClassPath());
+        classPool.appendSystemPath();
+    }
+
+    /**
+     * 共用索引和已打开的jar包, 但使用独立的 ClassPool, 供其他线程使用
+     */
+    public ClasspathTypeSolver fork() {
+        return new ClasspathTypeSolver(this);
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        CtClass ctClass = getCtClass(name);
+        if (ctClass == null) {
+            return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+        }
+        return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+    }
+
+    /**
+     * @param name 以 . 分隔的类名, 内部类也使用 .
+     * @return 类所在的jar包, 不在索引中时返回null
+     */
+    public File getJar(String name) {
+        String className = findClassName(name);
+        return className == null ? null : jars.get(index.get(className));
+    }
+
+    /**
+     * @param name 以 . 分隔的类名, 内部类也使用 .
+     * @return 从jar包中加载的类, 不在索引中时返回null
+     */
+    public CtClass getCtClass(String name) {
+        String className = findClassName(name);
+        if (className == null) {
+            return null;
+        }
+        try {
+            return classPool.get(className.replace('/', '.'));
+        } catch (NotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private String findClassName(String name) {
+        String[] nameElements = name.split("\\.");
+        // 名称中无法区分包和内部类, 依次尝试把后面几段当作内部类
+        for (int i = nameElements.length; i > 0; i--) {
+            StringBuilder className = new StringBuilder();
+            for (int j = 0; j < nameElements.length; j++) {
+                if (j > 0) {
+                    className.append(j < i ? '/' : '$');
+                }
+                className.append(nameElements[j]);
+            }
+            if (index.containsKey(className.toString())) {
+                return className.toString();
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (zipFiles) {
+            for (int i = 0; i < zipFiles.length; i++) {
+                if (zipFiles[i] != null) {
+                    try {
+                        zipFiles[i].close();
+                    } catch (IOException ignore) {
+                    }
+                    zipFiles[i] = null;
+                }
+            }
+        }
+    }
+
+    private ZipFile getZipFile(int i) throws IOException {
+        synchronized (zipFiles) {
+            if (zipFiles[i] == null) {
+                zipFiles[i] = new ZipFile(jars.get(i));
+            }
+            return zipFiles[i];
+        }
+    }
+
+    private static List<String> scan(File jar) {
+        List<String> names = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (entry.isDirectory() || !entryName.endsWith(".class") || entryName.startsWith("META-INF/")) {
+                    continue;
+                }
+                names.add(entryName.substring(0, entryName.length() - ".class".length()));
+            }
+        } catch (IOException e) {
+            log.warn("Failed to index " + jar + ": " + e.getMessage());
+        }
+        return names;
+    }
+
+    private static List<String> read(File indexFile) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try {
+            return Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(File indexFile, List<String> names) {
+        try {
+            indexFile.getParentFile().mkdirs();
+            File tmp = new File(indexFile.getParentFile(), indexFile.getName() + "." + Thread.currentThread().getId() + ".tmp");
+            Files.write(tmp.toPath(), names, StandardCharsets.UTF_8);
+            Files.move(tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * 按索引从jar包中读取字节码, 供 ClassPool 加载父类、注解等关联类型
+     */
+    private class IndexedClassPath implements ClassPath {
+
+        @Override
+        public InputStream openClassfile(String classname) throws NotFoundException {
+            String className = classname.replace('.', '/');
+            Integer i = index.get(className);
+            if (i == null) {
+                return null;
+            }
+            try {
+                ZipFile zipFile = getZipFile(i);
+                ZipEntry entry = zipFile.getEntry(className + ".class");
+                if (entry == null) {
+                    return null;
+                }
+                // 读取到内存中, 避免与其他线程共用同一个ZipFile流
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    return new ByteArrayInputStream(IOUtils.toByteArray(in));
+                }
+            } catch (IOException e) {
+                throw new NotFoundException(classname, e);
+            }
+        }
+
+        @Override
+        public URL find(String classname) {
+            String className = classname.replace('.', '/');
+            Integer i = index.get(className);
+            if (i == null) {
+                return null;
+            }
+            try {
+                return new URL("jar:" + jars.get(i).toURI().toURL() + "!/" + className + ".class");
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+}
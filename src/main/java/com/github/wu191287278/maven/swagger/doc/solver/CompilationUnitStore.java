@@ -0,0 +1,246 @@
+package com.github.wu191287278.maven.swagger.doc.solver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParseStart;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.Providers;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.wu191287278.maven.swagger.doc.profile.PhaseReport;
+import com.github.wu191287278.maven.swagger.doc.utils.TypeNameScanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 一次生成过程中共用的 CompilationUnit 存储, 控制器遍历和类型解析都从这里获取语法树,
+ * 每个文件只读取解析一次. 超过容量时按最近最少使用淘汰, 被淘汰的文件再次使用时重新解析.
+ * 延迟模式下按类型名查找包内文件时, 先扫描源码中声明的类型名, 只解析声明了该类型的文件
+ *
+ * @author yu.wu
+ */
+public class CompilationUnitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CompilationUnitStore.class);
+
+    private static final int WARMUP_FILES = 20;
+
+    private final JavaParser javaParser;
+
+    private final int capacity;
+
+    private final Map<Path, CompilationUnit> units;
+
+    private final Set<Path> absent = new HashSet<>();
+
+    private final Map<Path, List<Path>> directories = new HashMap<>();
+
+    /**
+     * 源文件中声明的类型名, 读取失败时为null
+     */
+    private final Map<Path, Set<String>> typeNames = new HashMap<>();
+
+    /**
+     * 解析过的文件, 包括已被淘汰的
+     */
+    private final Set<Path> loaded = new HashSet<>();
+
+    private final AtomicLong parsed = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong evicted = new AtomicLong();
+
+    private final AtomicLong parsedBytes = new AtomicLong();
+
+    private final AtomicLong parseNanos = new AtomicLong();
+
+    /**
+     * 所有文件的解析耗时、CPU时间和堆分配, 用于阶段报告
+     */
+    private final AtomicLong totalParseNanos = new AtomicLong();
+
+    private final AtomicLong parseCpuNanos = new AtomicLong();
+
+    private final AtomicLong parseAllocatedBytes = new AtomicLong();
+
+    private boolean lazy;
+
+    /**
+     * @param capacity 最多保留的语法树数量, 小于等于0表示不限制
+     */
+    public CompilationUnitStore(ParserConfiguration parserConfiguration, int capacity) {
+        this.javaParser = new JavaParser(parserConfiguration);
+        this.capacity = capacity;
+        this.units = new LinkedHashMap<Path, CompilationUnit>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CompilationUnit> eldest) {
+                if (CompilationUnitStore.this.capacity > 0 && size() > CompilationUnitStore.this.capacity) {
+                    evicted.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<CompilationUnit> get(Path file) {
+        Path path = file.toAbsolutePath();
+        CompilationUnit compilationUnit = units.get(path);
+        if (compilationUnit != null) {
+            hits.incrementAndGet();
+            return Optional.of(compilationUnit);
+        }
+        if (absent.contains(path)) {
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(path)) {
+            absent.add(path);
+            return Optional.empty();
+        }
+        try {
+            long count = parsed.incrementAndGet();
+            loaded.add(path);
+            long start = System.nanoTime();
+            long cpuStart = PhaseReport.threadCpuNanos();
+            long allocatedStart = PhaseReport.threadAllocatedBytes();
+            ParseResult<CompilationUnit> parseResult = javaParser.parse(ParseStart.COMPILATION_UNIT, Providers.provider(path));
+            totalParseNanos.addAndGet(System.nanoTime() - start);
+            parseCpuNanos.addAndGet(PhaseReport.threadCpuNanos() - cpuStart);
+            parseAllocatedBytes.addAndGet(PhaseReport.threadAllocatedBytes() - allocatedStart);
+            // 最先解析的文件包含JIT预热时间, 不计入解析速度
+            if (count > WARMUP_FILES) {
+                parseNanos.addAndGet(System.nanoTime() - start);
+                parsedBytes.addAndGet(Files.size(path));
+            }
+            if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
+                compilationUnit = parseResult.getResult().get().setStorage(path);
+                units.put(path, compilationUnit);
+                return Optional.of(compilationUnit);
+            }
+            log.warn("Failed to parse " + path + ": " + parseResult.getProblems());
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+        }
+        absent.add(path);
+        return Optional.empty();
+    }
+
+    /**
+     * 获取目录下(不包含子目录)可能声明了指定类型的源文件的语法树, 非延迟模式下返回所有源文件
+     *
+     * @param typeName 类型名, 内部类使用 . 分隔
+     */
+    public List<CompilationUnit> getDeclaring(Path directory, String typeName) {
+        if (!lazy) {
+            return getDirectory(directory);
+        }
+        String topLevelName = typeName.contains(".") ? typeName.substring(0, typeName.indexOf('.')) : typeName;
+        List<CompilationUnit> compilationUnits = new ArrayList<>();
+        List<Path> files;
+        synchronized (this) {
+            files = directories.computeIfAbsent(directory.toAbsolutePath(), this::list);
+        }
+        for (Path file : files) {
+            Set<String> names;
+            synchronized (this) {
+                names = typeNames.computeIfAbsent(file, TypeNameScanner::scan);
+            }
+            if (names == null || names.contains(topLevelName)) {
+                get(file).ifPresent(compilationUnits::add);
+            }
+        }
+        return compilationUnits;
+    }
+
+    /**
+     * 释放不再需要的语法树, 再次使用时重新解析
+     */
+    public synchronized void release(Path file) {
+        units.remove(file.toAbsolutePath());
+    }
+
+    /**
+     * 获取目录下(不包含子目录)所有源文件的语法树
+     */
+    public List<CompilationUnit> getDirectory(Path directory) {
+        List<Path> files;
+        synchronized (this) {
+            files = directories.computeIfAbsent(directory.toAbsolutePath(), this::list);
+        }
+        List<CompilationUnit> compilationUnits = new ArrayList<>();
+        for (Path file : files) {
+            get(file).ifPresent(compilationUnits::add);
+        }
+        return compilationUnits;
+    }
+
+    private List<Path> list(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(p -> p.toString().endsWith(".java") && Files.isRegularFile(p))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            log.warn(e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    public CompilationUnitStore setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public long getParsed() {
+        return parsed.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    /**
+     * 统计解析速度用的字节数, 不包括最先解析的文件
+     */
+    public long getParsedBytes() {
+        return parsedBytes.get();
+    }
+
+    public long getParseNanos() {
+        return parseNanos.get();
+    }
+
+    /**
+     * 把所有文件的解析耗时计入报告
+     */
+    public void report(PhaseReport phaseReport) {
+        phaseReport.addNested(PhaseReport.PARSING, totalParseNanos.get(), parseCpuNanos.get(), parseAllocatedBytes.get(), (int) parsed.get());
+    }
+
+    public synchronized boolean isLoaded(Path file) {
+        return loaded.contains(file.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "retained=" + units.size() + ", parsed=" + parsed.get() + ", hits=" + hits.get() + ", evicted=" + evicted.get();
+    }
+}
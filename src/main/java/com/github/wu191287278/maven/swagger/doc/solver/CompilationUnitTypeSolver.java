@@ -0,0 +1,83 @@
+package com.github.wu191287278.maven.swagger.doc.solver;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.javaparser.Navigator;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+
+/**
+ * 与 JavaParserTypeSolver 的查找方式相同, 但语法树来自共用的 {@link CompilationUnitStore}
+ *
+ * @author yu.wu
+ */
+public class CompilationUnitTypeSolver implements TypeSolver {
+
+    private final Path srcDir;
+
+    private final CompilationUnitStore store;
+
+    private TypeSolver parent;
+
+    public CompilationUnitTypeSolver(Path srcDir, CompilationUnitStore store) {
+        this.srcDir = srcDir.toAbsolutePath();
+        this.store = store;
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        String[] nameElements = name.split("\\.");
+        for (int i = nameElements.length; i > 0; i--) {
+            // 前i段为文件路径, 剩余部分为(内部)类名
+            Path srcFile = srcDir;
+            for (int j = 0; j < i - 1; j++) {
+                srcFile = srcFile.resolve(nameElements[j]);
+            }
+            srcFile = srcFile.resolve(nameElements[i - 1] + ".java");
+            StringBuilder typeName = new StringBuilder();
+            for (int j = i - 1; j < nameElements.length; j++) {
+                if (j != i - 1) {
+                    typeName.append(".");
+                }
+                typeName.append(nameElements[j]);
+            }
+
+            Optional<CompilationUnit> compilationUnit = store.get(srcFile);
+            if (compilationUnit.isPresent()) {
+                Optional<TypeDeclaration<?>> typeDeclaration = Navigator.findType(compilationUnit.get(), typeName.toString());
+                if (typeDeclaration.isPresent()) {
+                    return SymbolReference.solved(JavaParserFacade.get(getRoot()).getTypeDeclaration(typeDeclaration.get()));
+                }
+            }
+
+            // 类名与文件名不一致时, 在同一个包下查找
+            for (CompilationUnit unit : store.getDeclaring(srcFile.getParent(), typeName.toString())) {
+                Optional<TypeDeclaration<?>> typeDeclaration = Navigator.findType(unit, typeName.toString());
+                if (typeDeclaration.isPresent()) {
+                    return SymbolReference.solved(JavaParserFacade.get(getRoot()).getTypeDeclaration(typeDeclaration.get()));
+                }
+            }
+        }
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    @Override
+    public String toString() {
+        return "CompilationUnitTypeSolver{srcDir=" + srcDir + "}";
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.wu191287278.maven.swagger.doc.solver;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.symbolsolver.model.resolution.SymbolReference;
+import com.github.javaparser.symbolsolver.model.resolution.TypeSolver;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * 整个构建共用的类型解析器, 已解析过的类型在各模块之间复用.
+ * 源码中的类型由 {@link CompilationUnitStore} 负责缓存(受其淘汰策略约束), 这里只记录哪些名称不在源码中;
+ * jar包与JDK中的类型以及无法解析的名称直接缓存. 命中缓存时无锁, 未命中时串行访问内部解析器
+ *
+ * @author yu.wu
+ */
+public class SharedTypeSolver implements TypeSolver, Closeable {
+
+    private final List<TypeSolver> sourceSolvers = new CopyOnWriteArrayList<>();
+
+    private final List<TypeSolver> librarySolvers = new CopyOnWriteArrayList<>();
+
+    private final Map<String, SymbolReference<ResolvedReferenceTypeDeclaration>> libraryTypes = new ConcurrentHashMap<>();
+
+    private final Set<String> notInSource = ConcurrentHashMap.newKeySet();
+
+    private TypeSolver parent;
+
+    public synchronized void addSource(TypeSolver typeSolver) {
+        typeSolver.setParent(this);
+        sourceSolvers.add(typeSolver);
+        notInSource.clear();
+        libraryTypes.clear();
+    }
+
+    public synchronized void addLibrary(TypeSolver typeSolver) {
+        typeSolver.setParent(this);
+        librarySolvers.add(typeSolver);
+        libraryTypes.clear();
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        SymbolReference<ResolvedReferenceTypeDeclaration> reference = libraryTypes.get(name);
+        if (reference != null) {
+            return reference;
+        }
+        synchronized (this) {
+            if (!notInSource.contains(name)) {
+                for (TypeSolver sourceSolver : sourceSolvers) {
+                    reference = sourceSolver.tryToSolveType(name);
+                    if (reference.isSolved()) {
+                        return reference;
+                    }
+                }
+                notInSource.add(name);
+            }
+            return libraryTypes.computeIfAbsent(name, this::solveLibraryType);
+        }
+    }
+
+    private SymbolReference<ResolvedReferenceTypeDeclaration> solveLibraryType(String name) {
+        for (TypeSolver librarySolver : librarySolvers) {
+            SymbolReference<ResolvedReferenceTypeDeclaration> reference = librarySolver.tryToSolveType(name);
+            if (reference.isSolved()) {
+                return reference;
+            }
+        }
+        return SymbolReference.unsolved(ResolvedReferenceTypeDeclaration.class);
+    }
+
+    public int size() {
+        return libraryTypes.size();
+    }
+
+    @Override
+    public void close() {
+        for (TypeSolver librarySolver : librarySolvers) {
+            if (librarySolver instanceof Closeable) {
+                IOUtils.closeQuietly((Closeable) librarySolver);
+            }
+        }
+    }
+}
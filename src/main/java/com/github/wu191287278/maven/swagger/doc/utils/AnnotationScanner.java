@@ -0,0 +1,71 @@
+package com.github.wu191287278.maven.swagger.doc.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 不做语法解析, 直接在源文件的字节中查找注解(@ 后面的简单名称), 用于在解析之前排除不可能是控制器的文件.
+ * 注释和字符串中的注解也会命中, 只会多解析文件, 不会漏掉控制器
+ *
+ * @author yu.wu
+ */
+public class AnnotationScanner {
+
+    private final Set<String> annotations;
+
+    private final int maxLength;
+
+    public AnnotationScanner(Collection<String> annotations) {
+        this.annotations = new HashSet<>(annotations);
+        this.maxLength = annotations.stream().mapToInt(String::length).max().orElse(0);
+    }
+
+    /**
+     * @return 文件中出现了任意一个注解, 读取失败时返回true
+     */
+    public boolean containsAny(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return containsAny(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    public boolean containsAny(ByteBuffer buffer) {
+        byte[] name = new byte[maxLength];
+        int limit = buffer.limit();
+        for (int i = buffer.position(); i < limit; i++) {
+            if (buffer.get(i) != '@') {
+                continue;
+            }
+            int j = i + 1;
+            while (j < limit && Character.isWhitespace(buffer.get(j))) {
+                j++;
+            }
+            int length = 0;
+            while (j < limit && isIdentifierPart(buffer.get(j))) {
+                if (length < maxLength) {
+                    name[length] = buffer.get(j);
+                }
+                length++;
+                j++;
+            }
+            if (length > 0 && length <= maxLength && annotations.contains(new String(name, 0, length, StandardCharsets.US_ASCII))) {
+                return true;
+            }
+            i = j - 1;
+        }
+        return false;
+    }
+
+    private static boolean isIdentifierPart(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$';
+    }
+}
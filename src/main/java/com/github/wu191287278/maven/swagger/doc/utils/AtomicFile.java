@@ -0,0 +1,67 @@
+package com.github.wu191287278.maven.swagger.doc.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+
+/**
+ * 先写入同目录下的临时文件, 内容与已有文件相同时丢弃临时文件, 不同时原子替换.
+ * 内容不变的输出不会更新修改时间, 读取方也不会看到写了一半的文件
+ *
+ * @author yu.wu
+ */
+public class AtomicFile {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private AtomicFile() {
+    }
+
+    /**
+     * @return 文件内容是否发生变化
+     */
+    public static boolean write(File file, byte[] content) throws IOException {
+        if (file.isFile() && file.length() == content.length
+                && Arrays.equals(Files.readAllBytes(file.toPath()), content)) {
+            return false;
+        }
+        return write(file, out -> out.write(content));
+    }
+
+    /**
+     * @return 文件内容是否发生变化
+     */
+    public static boolean write(File file, Writer writer) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        parent.mkdirs();
+        // 不使用 createTempFile, 它创建的文件只有所有者可读
+        File tmp = new File(parent, file.getName() + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp.toPath()), BUFFER_SIZE)) {
+                writer.write(out);
+            }
+            if (file.isFile() && FileUtils.contentEquals(tmp, file)) {
+                return false;
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    public interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
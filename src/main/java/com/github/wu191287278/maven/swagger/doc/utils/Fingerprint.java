@@ -0,0 +1,63 @@
+package com.github.wu191287278.maven.swagger.doc.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+
+import cn.hutool.core.util.HexUtil;
+
+/**
+ * 根据插件配置、类路径等输入计算指纹, 指纹相同则认为输入没有变化
+ *
+ * @author yu.wu
+ */
+public class Fingerprint {
+
+    private static final String POM_PROPERTIES = "META-INF/maven/com.github.wu191287278/swagger-springboot-maven-plugin/pom.properties";
+
+    private final MessageDigest digest;
+
+    public Fingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Fingerprint add(String key, Object value) {
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '=');
+        digest.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        return this;
+    }
+
+    /**
+     * 只记录文件路径,大小与修改时间,不读取文件内容
+     */
+    public Fingerprint addFile(File file) {
+        return add(file.getAbsolutePath(), file.length() + ":" + file.lastModified());
+    }
+
+    public String toHex() {
+        return HexUtil.encodeHexStr(digest.digest());
+    }
+
+    public static String pluginVersion() {
+        try (InputStream in = Fingerprint.class.getClassLoader().getResourceAsStream(POM_PROPERTIES)) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                return properties.getProperty("version", "unknown");
+            }
+        } catch (IOException ignore) {
+
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.wu191287278.maven.swagger.doc.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 不做语法解析, 在源文件的字节中查找 class、interface、enum 后面声明的类型名(包括内部类).
+ * 注释和字符串中的声明也会被找到, 只会多解析文件, 不会漏掉类型
+ *
+ * @author yu.wu
+ */
+public class TypeNameScanner {
+
+    private TypeNameScanner() {
+    }
+
+    /**
+     * @return 文件中声明的类型名, 读取失败时返回null
+     */
+    public static Set<String> scan(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return scan(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static Set<String> scan(ByteBuffer buffer) {
+        Set<String> names = new HashSet<>();
+        boolean declaration = false;
+        int limit = buffer.limit();
+        int i = buffer.position();
+        while (i < limit) {
+            byte b = buffer.get(i);
+            if (!isIdentifierPart(b)) {
+                // 关键字与类型名之间只允许空白
+                if (!Character.isWhitespace(b)) {
+                    declaration = false;
+                }
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < limit && isIdentifierPart(buffer.get(i))) {
+                i++;
+            }
+            int length = i - start;
+            if (declaration) {
+                names.add(identifier(buffer, start, length));
+            }
+            // 只有 enum、class、interface 需要比较, 其他长度的标识符不创建字符串
+            declaration = (length == 4 || length == 5 || length == 9) && isKeyword(identifier(buffer, start, length));
+        }
+        return names;
+    }
+
+    private static String identifier(ByteBuffer buffer, int start, int length) {
+        byte[] bytes = new byte[length];
+        for (int j = 0; j < length; j++) {
+            bytes[j] = buffer.get(start + j);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isKeyword(String identifier) {
+        return "class".equals(identifier) || "interface".equals(identifier) || "enum".equals(identifier);
+    }
+
+    private static boolean isIdentifierPart(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$' || b < 0;
+    }
+}
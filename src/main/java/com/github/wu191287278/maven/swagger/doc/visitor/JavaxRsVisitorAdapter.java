@@ -27,7 +27,7 @@ import org.apache.commons.lang3.math.NumberUtils;
 
 public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> {
 
-    private ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+    private final ResolveSwaggerType resolveSwaggerType;
 
     private final Set<String> controllers = new HashSet<>(Arrays.asList("Path"));
 
@@ -38,6 +38,14 @@ public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> {
     private final Map<String, String> methods = new HashMap<>();
 
     public JavaxRsVisitorAdapter() {
+        this(new ResolveSwaggerType());
+    }
+
+    /**
+     * @param resolveSwaggerType 与其他 visitor 共用的类型解析器和模型登记表
+     */
+    public JavaxRsVisitorAdapter(ResolveSwaggerType resolveSwaggerType) {
+        this.resolveSwaggerType = resolveSwaggerType;
         methods.put("GET", "get");
         methods.put("POST", "post");
         methods.put("DELETE", "delete");
@@ -50,12 +58,21 @@ public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> {
 
     @Override
     public void visit(MethodDeclaration n, Swagger swagger) {
+        if (visitMapping(n, swagger)) {
+            super.visit(n, swagger);
+        }
+    }
+
+    /**
+     * 解析接口方法, 方法上没有映射注解时返回false
+     */
+    boolean visitMapping(MethodDeclaration n, Swagger swagger) {
         List<AnnotationExpr> annotationExprs = n.getAnnotations()
                 .stream()
                 .filter(a -> mappings.contains(a.getNameAsString()))
                 .collect(Collectors.toList());
 
-        if (annotationExprs.isEmpty()) return;
+        if (annotationExprs.isEmpty()) return false;
 
 
         Request request = new Request();
@@ -106,23 +123,32 @@ public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> {
         }
 
 
-        super.visit(n, swagger);
+        return true;
     }
 
 
     @Override
     public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        if (visitController(n, swagger)) {
+            super.visit(n, swagger);
+        }
+    }
+
+    /**
+     * 登记控制器标签, 不是控制器时返回false
+     */
+    boolean visitController(ClassOrInterfaceDeclaration n, Swagger swagger) {
         List<AnnotationExpr> annotationExprs = n.getAnnotations()
                 .stream()
                 .filter(a -> controllers.contains(a.getNameAsString()))
                 .collect(Collectors.toList());
 
-        if (annotationExprs.isEmpty()) return;
+        if (annotationExprs.isEmpty()) return false;
         Tag tag = new Tag()
                 .name(n.getNameAsString());
         swagger.addTag(tag);
         n.getJavadoc().ifPresent(c -> tag.description(StringUtils.isBlank(c.getDescription().toText()) ? null : c.getDescription().toText()));
-        super.visit(n, swagger);
+        return true;
 
     }
 
@@ -538,4 +564,8 @@ public class JavaxRsVisitorAdapter extends VoidVisitorAdapter<Swagger> {
         return resolveSwaggerType.getModelMap();
     }
 
+    public ResolveSwaggerType getResolveSwaggerType() {
+        return resolveSwaggerType;
+    }
+
 }
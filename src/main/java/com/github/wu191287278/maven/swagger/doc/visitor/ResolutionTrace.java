@@ -0,0 +1,49 @@
+package com.github.wu191287278.maven.swagger.doc.visitor;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 一次解析过程中引用到的模型以及模型所在的源文件
+ *
+ * @author yu.wu
+ */
+public class ResolutionTrace {
+
+    private final Set<String> models = new TreeSet<>();
+
+    private final Set<String> sources = new TreeSet<>();
+
+    /**
+     * 本次解析中新登记的模型(不包含命中缓存的), 按登记顺序
+     */
+    private final Set<String> registered = new LinkedHashSet<>();
+
+    /**
+     * 本次解析中新发现的父类依赖 [模型, 依赖的模型], 按发现顺序
+     */
+    private final Set<List<String>> dependencies = new LinkedHashSet<>();
+
+    public Set<String> getModels() {
+        return models;
+    }
+
+    public Set<String> getSources() {
+        return sources;
+    }
+
+    public Set<String> getRegistered() {
+        return registered;
+    }
+
+    public Set<List<String>> getDependencies() {
+        return dependencies;
+    }
+
+    public void addDependency(String name, String dependency) {
+        dependencies.add(Arrays.asList(name, dependency));
+    }
+}
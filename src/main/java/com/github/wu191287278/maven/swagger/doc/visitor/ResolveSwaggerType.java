@@ -1,13 +1,11 @@
 package com.github.wu191287278.maven.swagger.doc.visitor;
 
 import java.beans.Transient;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.EnumConstantDeclaration;
@@ -35,13 +33,16 @@ import com.github.javaparser.symbolsolver.model.typesystem.ReferenceTypeImpl;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionFieldDeclaration;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionInterfaceDeclaration;
 import com.github.javaparser.utils.Pair;
+import com.github.wu191287278.maven.swagger.doc.cache.JarMetadataCache;
+import com.github.wu191287278.maven.swagger.doc.cache.JarMetadataCache.ClassMetadata;
+import com.github.wu191287278.maven.swagger.doc.cache.JarMetadataCache.FieldMetadata;
 import com.github.wu191287278.maven.swagger.doc.dependency.DependencyGraph;
+import com.github.wu191287278.maven.swagger.doc.profile.TypeProfiler;
 import io.swagger.models.ArrayModel;
 import io.swagger.models.Model;
 import io.swagger.models.ModelImpl;
 import io.swagger.models.RefModel;
 import io.swagger.models.properties.*;
-import javassist.CtField;
 import javax.validation.constraints.*;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
@@ -54,11 +55,16 @@ public class ResolveSwaggerType {
 
     private static final Logger log = LoggerFactory.getLogger(ResolveSwaggerType.class);
 
-    private final Map<String, Property> propertyMap = new ConcurrentHashMap<>();
+    private final ResolvedTypeCache cache = new ResolvedTypeCache();
 
-    private final Map<String, Property> referencePropertyMap = new HashMap<>();
     public final DependencyGraph dependencyGraph = new DependencyGraph();
 
+    private final Deque<ResolutionTrace> traces = new ArrayDeque<>();
+
+    private JarMetadataCache jarMetadataCache;
+
+    private TypeProfiler typeProfiler;
+
     public static String TIME_FORMAT = "13:11:43";
 
     public static String DATE_FORMAT = "2018-09-10";
@@ -67,15 +73,112 @@ public class ResolveSwaggerType {
 
     public static Boolean RECURSION_ANCESTOR = false;
 
+    /**
+     * 开始记录之后解析到的模型名称以及模型所在的源文件
+     */
+    public ResolutionTrace beginTrace() {
+        ResolutionTrace trace = new ResolutionTrace();
+        traces.push(trace);
+        return trace;
+    }
+
+    public ResolutionTrace endTrace() {
+        return traces.pop();
+    }
+
+    /**
+     * jar包中模型类的字段注解从缓存中读取
+     */
+    public ResolveSwaggerType setJarMetadataCache(JarMetadataCache jarMetadataCache) {
+        this.jarMetadataCache = jarMetadataCache;
+        return this;
+    }
+
+    /**
+     * 按类型统计解析耗时, 为null时不统计
+     */
+    public ResolveSwaggerType setTypeProfiler(TypeProfiler typeProfiler) {
+        this.typeProfiler = typeProfiler;
+        return this;
+    }
+
+    public ResolvedTypeCache getCache() {
+        return cache;
+    }
+
+    private void trace(String modelName, ResolvedReferenceTypeDeclaration typeDeclaration) {
+        if (traces.isEmpty()) {
+            return;
+        }
+        String source = null;
+        if (typeDeclaration instanceof JavaParserClassDeclaration) {
+            source = ((JavaParserClassDeclaration) typeDeclaration).getWrappedNode().findCompilationUnit()
+                    .flatMap(CompilationUnit::getStorage)
+                    .map(s -> s.getPath().toAbsolutePath().toString())
+                    .orElse(null);
+        } else if (typeDeclaration instanceof JavaParserEnumDeclaration) {
+            source = ((JavaParserEnumDeclaration) typeDeclaration).getWrappedNode().findCompilationUnit()
+                    .flatMap(CompilationUnit::getStorage)
+                    .map(s -> s.getPath().toAbsolutePath().toString())
+                    .orElse(null);
+        }
+        for (ResolutionTrace trace : traces) {
+            trace.getModels().add(modelName);
+            trace.getRegistered().add(modelName);
+            if (source != null) {
+                trace.getSources().add(source);
+            }
+        }
+    }
+
     public Property resolve(Type type) {
         try {
-            return resolve(type.resolve());
+            return resolve(solve(type));
         } catch (Exception e) {
             log.error(e.getMessage());
         }
         return new ObjectProperty(new LinkedHashMap<>());
     }
 
+    /**
+     * 解析源码中声明的类型, 统计时耗时计入解析出的类型, 解析失败时计入源码中的类型名
+     */
+    private ResolvedType solve(Type type) {
+        if (typeProfiler == null) {
+            return type.resolve();
+        }
+        TypeProfiler.Frame frame = typeProfiler.enter(null);
+        ResolvedType resolvedType = null;
+        try {
+            resolvedType = type.resolve();
+            return resolvedType;
+        } finally {
+            if (resolvedType == null) {
+                typeProfiler.exit(frame, type.asString(), "unresolved");
+            } else {
+                typeProfiler.exit(frame, resolvedType.describe(),
+                        resolvedType.isReferenceType() ? origin(resolvedType.asReferenceType().getTypeDeclaration()) : null);
+            }
+        }
+    }
+
+    /**
+     * 类型声明来自源码、jar包(Javassist)还是反射
+     */
+    private static String origin(ResolvedReferenceTypeDeclaration typeDeclaration) {
+        String name = typeDeclaration.getClass().getSimpleName();
+        if (name.startsWith("JavaParser")) {
+            return "source";
+        }
+        if (name.startsWith("Javassist")) {
+            return "javassist";
+        }
+        if (name.startsWith("Reflection")) {
+            return "reflection";
+        }
+        return name;
+    }
+
     private Property resolve(ResolvedType resolvedType) {
         String clazzName = resolvedType.describe();
         if ("java.lang.Object".equals(clazzName)) {
@@ -108,12 +211,89 @@ public class ResolveSwaggerType {
         return new ObjectProperty(new LinkedHashMap<>());
     }
 
-    private final Map<String, Boolean> parentClassMap = new HashMap<>();
-
     private Property resolveRefProperty(ResolvedReferenceType resolvedReferenceType) {
+        String key = resolvedReferenceType.describe();
+        if (typeProfiler == null) {
+            return cachedRefProperty(resolvedReferenceType, key);
+        }
+        TypeProfiler.Frame frame = typeProfiler.enter(key);
+        try {
+            return cachedRefProperty(resolvedReferenceType, key);
+        } finally {
+            typeProfiler.exit(frame, key, origin(resolvedReferenceType.getTypeDeclaration()));
+        }
+    }
+
+    private Property cachedRefProperty(ResolvedReferenceType resolvedReferenceType, String key) {
+        ResolvedTypeCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            if (!entry.isResolved()) {
+                // 循环引用: 模型名称在开始解析时已经确定, 拷贝与解析完成后的结果相同, 字段在解析完成后补全
+                return copyOf(entry.getProperty());
+            }
+            for (ResolutionTrace trace : traces) {
+                trace.getModels().addAll(entry.getTrace().getModels());
+                trace.getSources().addAll(entry.getTrace().getSources());
+            }
+            return copyOf(entry.getProperty());
+        }
+
         ObjectProperty objectProperty = new ObjectProperty(new LinkedHashMap<>());
-        referencePropertyMap.put(resolvedReferenceType.toString(), objectProperty);
-        if (!resolvedReferenceType.getTypeDeclaration().isEnum()) {
+        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+        // 枚举和集合的解析结果不是 objectProperty, 不能返回给循环引用; 集合只会经由元素类型形成循环, 不需要标记
+        if (!typeDeclaration.isEnum() && !(typeDeclaration instanceof ReflectionInterfaceDeclaration)) {
+            cache.start(key, objectProperty);
+        }
+        ResolutionTrace trace = beginTrace();
+        Property property;
+        try {
+            property = resolveRefProperty(resolvedReferenceType, objectProperty);
+        } finally {
+            endTrace();
+        }
+        cache.complete(key, property, trace);
+        return copyOf(property);
+    }
+
+    /**
+     * 缓存中的属性会被多处引用, 调用方会修改描述、必填等信息, 因此每次返回浅拷贝
+     */
+    private Property copyOf(Property property) {
+        if (property instanceof ObjectProperty) {
+            ObjectProperty objectProperty = (ObjectProperty) property;
+            ObjectProperty copy = new ObjectProperty(objectProperty.getProperties());
+            copy.setName(objectProperty.getName());
+            copy.setDescription(objectProperty.getDescription());
+            return copy;
+        }
+        if (property instanceof ArrayProperty) {
+            ArrayProperty arrayProperty = (ArrayProperty) property;
+            ArrayProperty copy = new ArrayProperty(arrayProperty.getItems());
+            copy.setUniqueItems(arrayProperty.getUniqueItems());
+            return copy;
+        }
+        if (property instanceof MapProperty) {
+            return new MapProperty(((MapProperty) property).getAdditionalProperties());
+        }
+        if (property instanceof StringProperty) {
+            StringProperty stringProperty = (StringProperty) property;
+            return new StringProperty()
+                    ._enum(stringProperty.getEnum())
+                    .description(stringProperty.getDescription());
+        }
+        return property;
+    }
+
+    private Property resolveRefProperty(ResolvedReferenceType resolvedReferenceType, ObjectProperty objectProperty) {
+        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+        // 名称和描述在解析字段之前确定, 字段中循环引用到当前类型时可以直接引用
+        objectProperty.name(modelName(resolvedReferenceType));
+        if (typeDeclaration instanceof JavaParserClassDeclaration) {
+            ClassOrInterfaceDeclaration wrappedNode = ((JavaParserClassDeclaration) typeDeclaration).getWrappedNode();
+            wrappedNode.getJavadocComment().ifPresent(c -> objectProperty.description(c.parse().toText()));
+        }
+
+        if (!typeDeclaration.isEnum()) {
             if (RECURSION_ANCESTOR) {
                 List<ResolvedReferenceType> ancestors = resolvedReferenceType.getTypeDeclaration().getAncestors();
                 for (ResolvedReferenceType ancestor : ancestors) {
@@ -136,6 +316,9 @@ public class ResolveSwaggerType {
                         }
                     } catch (Exception e) {
                         dependencyGraph.addDependency(resolvedReferenceType.getTypeDeclaration().getName(), ancestor.getTypeDeclaration().getName());
+                        for (ResolutionTrace trace : traces) {
+                            trace.addDependency(resolvedReferenceType.getTypeDeclaration().getName(), ancestor.getTypeDeclaration().getName());
+                        }
                         log.error(e.getMessage());
                     }
                 }
@@ -147,9 +330,7 @@ public class ResolveSwaggerType {
                 if (!qualifiedName.contains("java.lang")
                         && !qualifiedName.contains("java.util")
                         && !"java.lang.Object".equals(qualifiedName)
-                        && (parentClassMap.get(resolvedReferenceType.getQualifiedName() + "." + qualifiedName)) == null
                 ) {
-                    parentClassMap.put(resolvedReferenceType.getQualifiedName() + "." + qualifiedName, true);
                     Property property = resolveRefProperty(allClassesAncestor);
                     if (property instanceof ObjectProperty) {
                         Map<String, Property> properties = ((ObjectProperty) property).getProperties();
@@ -284,40 +465,33 @@ public class ResolveSwaggerType {
                 } else if (!declaredField.isStatic() && (declaredField instanceof JavassistFieldDeclaration || declaredField instanceof ReflectionFieldDeclaration)) {
                     Property property = resolve(resolvedType);
 
-                    if (declaredField instanceof JavassistFieldDeclaration) {
-                        JavassistFieldDeclaration javassistFieldDeclaration = (JavassistFieldDeclaration) declaredField;
-                        try {
-                            Field field = javassistFieldDeclaration.getClass().getDeclaredField("ctField");
-                            field.setAccessible(true);
-                            CtField ctField = (CtField) field.get(javassistFieldDeclaration);
-                            JsonProperty jsonProperty = (JsonProperty) ctField.getAnnotation(JsonProperty.class);
-                            if (jsonProperty != null && StringUtils.isNotBlank(jsonProperty.value())) {
-                                name = jsonProperty.value();
+                    if (declaredField instanceof JavassistFieldDeclaration && jarMetadataCache != null) {
+                        ClassMetadata classMetadata = jarMetadataCache.get(declaredField.declaringType().getQualifiedName());
+                        FieldMetadata fieldMetadata = classMetadata == null ? null : classMetadata.getFields().get(name);
+                        if (fieldMetadata != null) {
+                            if (fieldMetadata.getName() != null) {
+                                name = fieldMetadata.getName();
                             }
 
-                            Object jsonIgnore = ctField.getAnnotation(JsonIgnore.class);
-                            if (jsonIgnore != null) {
+                            if (fieldMetadata.isIgnore()) {
                                 continue;
                             }
 
-                            if (ctField.getAnnotation(NotBlank.class) != null || ctField.getAnnotation(NotEmpty.class) != null || ctField.getAnnotation(NotBlank.class) != null) {
+                            if (fieldMetadata.isRequired()) {
                                 property.setRequired(true);
                             }
 
                             if (property instanceof StringProperty) {
-                                boolean url = ctField.hasAnnotation("URL");
-                                if (url) {
+                                if (fieldMetadata.isUrl()) {
                                     StringProperty stringProperty = (StringProperty) property;
                                     stringProperty.example("https://swagger.io");
                                 }
-                                boolean email = ctField.hasAnnotation("Email");
-                                if (email) {
+                                if (fieldMetadata.isEmail()) {
                                     StringProperty stringProperty = (StringProperty) property;
                                     stringProperty.example("api_docs@swagger.io");
                                 }
-                                Pattern pattern = (Pattern) ctField.getAnnotation(Pattern.class);
-                                if (pattern != null) {
-                                    ((StringProperty) property).pattern(pattern.regexp());
+                                if (fieldMetadata.getPattern() != null) {
+                                    ((StringProperty) property).pattern(fieldMetadata.getPattern());
                                 }
 
                             }
@@ -325,22 +499,17 @@ public class ResolveSwaggerType {
 
                             if (property instanceof AbstractNumericProperty) {
                                 AbstractNumericProperty numericProperty = (AbstractNumericProperty) property;
-                                Size size = (Size) ctField.getAnnotation(Size.class);
-                                if (size != null) {
-                                    numericProperty.minimum(new BigDecimal(size.min()));
-                                    numericProperty.maximum(new BigDecimal(size.max()));
+                                if (fieldMetadata.getSizeMin() != null) {
+                                    numericProperty.minimum(new BigDecimal(fieldMetadata.getSizeMin()));
+                                    numericProperty.maximum(new BigDecimal(fieldMetadata.getSizeMax()));
                                 }
-                                DecimalMax decimalMax = (DecimalMax) ctField.getAnnotation(DecimalMax.class);
-                                if (decimalMax != null) {
-                                    numericProperty.maximum(new BigDecimal(decimalMax.value()));
+                                if (fieldMetadata.getDecimalMax() != null) {
+                                    numericProperty.maximum(new BigDecimal(fieldMetadata.getDecimalMax()));
                                 }
-                                DecimalMin decimalMin = (DecimalMin) ctField.getAnnotation(DecimalMin.class);
-                                if (decimalMax != null) {
-                                    numericProperty.minimum(new BigDecimal(decimalMin.value()));
+                                if (fieldMetadata.getDecimalMin() != null) {
+                                    numericProperty.minimum(new BigDecimal(fieldMetadata.getDecimalMin()));
                                 }
                             }
-                        } catch (Exception e) {
-                            log.warn(e.getMessage(), e);
                         }
                     }
 
@@ -355,34 +524,13 @@ public class ResolveSwaggerType {
             }
         }
 
-        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
-        if (typeDeclaration instanceof JavaParserClassDeclaration) {
-            JavaParserClassDeclaration javaParserClassDeclaration = (JavaParserClassDeclaration) typeDeclaration;
-            String name = javaParserClassDeclaration.getName();
-            objectProperty.name(name);
-            ClassOrInterfaceDeclaration wrappedNode = javaParserClassDeclaration.getWrappedNode();
-            wrappedNode.getJavadocComment().ifPresent(c -> objectProperty.description(c.parse().toText()));
-        }
-
-
-        if (typeDeclaration instanceof JavassistClassDeclaration) {
-            JavassistClassDeclaration javaParserClassDeclaration = (JavassistClassDeclaration) typeDeclaration;
-            String name = javaParserClassDeclaration.getName();
-            objectProperty.name(name);
-        }
-
-
         if (typeDeclaration instanceof ReflectionInterfaceDeclaration) {
             List<Pair<ResolvedTypeParameterDeclaration, ResolvedType>> typeParametersMap = resolvedReferenceType.getTypeParametersMap();
             try {
                 Class<?> aClass = Class.forName(typeDeclaration.getId());
                 if (Set.class.isAssignableFrom(aClass)) {
                     if (!typeParametersMap.isEmpty()) {
-                        String itemName = typeParametersMap.get(0).b.toString();
-                        Property value = referencePropertyMap.get(itemName);
-                        if (value == null) {
-                            value = resolve(typeParametersMap.get(0).b);
-                        }
+                        Property value = resolve(typeParametersMap.get(0).b);
                         if (value instanceof ObjectProperty && value.getName() != null) {
                             return new ArrayProperty(new RefProperty("#/definitions/" + value.getName()));
                         }
@@ -391,11 +539,7 @@ public class ResolveSwaggerType {
                     return new ArrayProperty(new ObjectProperty(new LinkedHashMap<>())).uniqueItems();
                 } else if (Collection.class.isAssignableFrom(aClass)) {
                     if (!typeParametersMap.isEmpty()) {
-                        String itemName = typeParametersMap.get(0).b.toString();
-                        Property value = referencePropertyMap.get(itemName);
-                        if (value == null) {
-                            value = resolve(typeParametersMap.get(0).b);
-                        }
+                        Property value = resolve(typeParametersMap.get(0).b);
                         if (value instanceof ObjectProperty && value.getName() != null) {
                             return new ArrayProperty(new RefProperty("#/definitions/" + value.getName()));
                         }
@@ -404,11 +548,7 @@ public class ResolveSwaggerType {
                     return new ArrayProperty(new ObjectProperty(new LinkedHashMap<>()));
                 } else if (Map.class.isAssignableFrom(aClass) || TreeMap.class.isAssignableFrom(aClass)) {
                     if (typeParametersMap.size() > 1) {
-                        String itemName = typeParametersMap.get(1).b.toString();
-                        Property value = referencePropertyMap.get(itemName);
-                        if (value == null) {
-                            value = resolve(typeParametersMap.get(1).b);
-                        }
+                        Property value = resolve(typeParametersMap.get(1).b);
                         if (value instanceof ObjectProperty && value.getName() != null) {
                             return new MapProperty().additionalProperties(new RefProperty("#/definitions/" + value.getName()));
                         }
@@ -422,13 +562,6 @@ public class ResolveSwaggerType {
             }
         }
 
-        if (typeDeclaration instanceof JavassistInterfaceDeclaration) {
-            JavassistInterfaceDeclaration javassistInterfaceDeclaration = (JavassistInterfaceDeclaration) typeDeclaration;
-            String name = javassistInterfaceDeclaration.getName();
-            objectProperty.name(name);
-        }
-
-
         if (typeDeclaration instanceof JavaParserEnumDeclaration) {
             JavaParserEnumDeclaration javaParserEnumDeclaration = (JavaParserEnumDeclaration) typeDeclaration;
             String name = javaParserEnumDeclaration.getName();
@@ -445,7 +578,8 @@ public class ResolveSwaggerType {
                 enums.add(fieldName);
             }
             Property enumProperty = new StringProperty()._enum(enums).description(sb.toString());
-            propertyMap.put(name, enumProperty);
+            cache.register(name, enumProperty);
+            trace(name, typeDeclaration);
             return enumProperty;
 
         }
@@ -454,35 +588,66 @@ public class ResolveSwaggerType {
         if (typeDeclaration instanceof JavassistEnumDeclaration) {
             JavassistEnumDeclaration javaParserEnumDeclaration = (JavassistEnumDeclaration) typeDeclaration;
             String name = javaParserEnumDeclaration.getName();
+            ClassMetadata classMetadata = jarMetadataCache == null ? null : jarMetadataCache.get(javaParserEnumDeclaration.getQualifiedName());
             List<String> enums = new ArrayList<>();
-            for (ResolvedEnumConstantDeclaration enumConstant : javaParserEnumDeclaration.getEnumConstants()) {
-                enums.add(enumConstant.getName());
+            if (classMetadata != null) {
+                enums.addAll(classMetadata.getEnumConstants());
+            } else {
+                for (ResolvedEnumConstantDeclaration enumConstant : javaParserEnumDeclaration.getEnumConstants()) {
+                    enums.add(enumConstant.getName());
+                }
             }
             Property enumProperty = new StringProperty()._enum(enums);
-            propertyMap.put(name, enumProperty);
+            cache.register(name, enumProperty);
+            trace(name, typeDeclaration);
             return enumProperty;
 
         }
 
-        Map<String, ResolvedType> resolvedTypeMap = resolveTypeParameter(resolvedReferenceType);
         if (objectProperty.getName() != null) {
-            List<String> typeNames = new ArrayList<>();
-            for (Map.Entry<String, ResolvedType> entry : resolvedTypeMap.entrySet()) {
-                Property resolve = resolve(entry.getValue());
-                if (resolve.getName() != null) {
-                    typeNames.add(resolve.getName());
-                }
-            }
-            if (!typeNames.isEmpty()) {
-                objectProperty.name(objectProperty.getName() + "«" + String.join(",", typeNames) + "»");
+            // 名称中的泛型参数模型也要输出到 definitions
+            for (ResolvedType typeParameter : resolveTypeParameter(resolvedReferenceType).values()) {
+                resolve(typeParameter);
             }
 
-            propertyMap.put(objectProperty.getName(), objectProperty);
+            cache.register(objectProperty.getName(), objectProperty);
+            trace(objectProperty.getName(), typeDeclaration);
         }
 
         return objectProperty;
     }
 
+    /**
+     * 与解析结果相同的模型名称: 类名, 泛型类型再加上有名称的泛型参数, 例如 Result«Page«User»»; 不输出为模型的类型返回null
+     */
+    private String modelName(ResolvedType resolvedType) {
+        if (!resolvedType.isReferenceType() || "java.lang.Object".equals(resolvedType.describe())) {
+            return null;
+        }
+        String clazzName = resolvedType instanceof ReferenceTypeImpl ? ((ReferenceTypeImpl) resolvedType).getId() : resolvedType.describe();
+        if (resolveBaseType(clazzName) != null) {
+            return null;
+        }
+        ResolvedReferenceType resolvedReferenceType = resolvedType.asReferenceType();
+        ResolvedReferenceTypeDeclaration typeDeclaration = resolvedReferenceType.getTypeDeclaration();
+        if (!(typeDeclaration instanceof JavaParserClassDeclaration)
+                && !(typeDeclaration instanceof JavassistClassDeclaration)
+                && !(typeDeclaration instanceof JavassistInterfaceDeclaration)) {
+            return null;
+        }
+        List<String> typeNames = new ArrayList<>();
+        for (ResolvedType typeParameter : resolveTypeParameter(resolvedReferenceType).values()) {
+            String typeName = modelName(typeParameter);
+            if (typeName != null) {
+                typeNames.add(typeName);
+            }
+        }
+        if (typeNames.isEmpty()) {
+            return typeDeclaration.getName();
+        }
+        return typeDeclaration.getName() + "«" + String.join(",", typeNames) + "»";
+    }
+
     private String getFiledname(FieldDeclaration wrappedNode, String name) {
         Optional<AnnotationExpr> jsonProperty = wrappedNode.getAnnotationByClass(JsonProperty.class);
         if (jsonProperty.isPresent()) {
@@ -539,7 +704,7 @@ public class ResolveSwaggerType {
 
     public Map<String, Model> getModelMap() {
         Map<String, Model> modelMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Property> entry : propertyMap.entrySet()) {
+        for (Map.Entry<String, Property> entry : cache.getModels().entrySet()) {
             Property value = entry.getValue();
             Model model = toModel(value);
             if (model != null) {
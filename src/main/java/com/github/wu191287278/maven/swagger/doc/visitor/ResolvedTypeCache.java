@@ -0,0 +1,95 @@
+package com.github.wu191287278.maven.swagger.doc.visitor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+
+/**
+ * 类型解析缓存. 以带泛型参数的完整类型(例如 com.demo.Result&lt;com.demo.User&gt;)为key,
+ * 同一个类型只解析一次; 同时按模型名称登记需要输出到 definitions 的模型
+ *
+ * @author yu.wu
+ */
+public class ResolvedTypeCache {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final Map<String, Property> models = new TreeMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public Entry get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * 开始解析模型, 解析完成前循环引用到它时返回该模型的拷贝
+     */
+    public void start(String key, ObjectProperty model) {
+        Entry entry = new Entry();
+        entry.property = model;
+        entries.put(key, entry);
+    }
+
+    public void complete(String key, Property property, ResolutionTrace trace) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        entry.property = property;
+        entry.trace = trace;
+    }
+
+    public void register(String name, Property property) {
+        models.put(name, property);
+    }
+
+    public Map<String, Property> getModels() {
+        return models;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "types=" + entries.size() + ", models=" + models.size() + ", hits=" + hits.get() + ", misses=" + misses.get();
+    }
+
+    public static class Entry {
+
+        private Property property;
+
+        private ResolutionTrace trace;
+
+        public Property getProperty() {
+            return property;
+        }
+
+        public ResolutionTrace getTrace() {
+            return trace;
+        }
+
+        public boolean isResolved() {
+            return trace != null;
+        }
+    }
+}
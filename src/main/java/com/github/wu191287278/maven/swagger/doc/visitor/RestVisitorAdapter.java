@@ -20,7 +20,7 @@ import com.github.javaparser.javadoc.Javadoc;
 import com.github.javaparser.javadoc.JavadocBlockTag;
 import com.github.javaparser.javadoc.description.JavadocDescription;
 import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
-import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.ModelRegistry;
 import com.github.wu191287278.maven.swagger.doc.domain.Request;
 import com.github.wu191287278.maven.swagger.doc.utils.CamelUtils;
 import com.google.common.collect.ImmutableMap;
@@ -39,7 +39,7 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
 
     private Logger log = LoggerFactory.getLogger(RestVisitorAdapter.class);
 
-    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+    private final ResolveSwaggerType resolveSwaggerType;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -61,6 +61,8 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
 
     private String basePackage;
 
+    private ModelRegistry modelRegistry = ModelRegistry.empty();
+
     {
         try {
             Class<?> mediaTypeClazz = Class.forName("org.springframework.http.MediaType");
@@ -89,21 +91,39 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
     };
 
     public RestVisitorAdapter() {
+        this.resolveSwaggerType = new ResolveSwaggerType();
     }
 
 
     public RestVisitorAdapter(Consumer<String> consumer) {
+        this(consumer, new ResolveSwaggerType());
+    }
+
+    /**
+     * @param resolveSwaggerType 与其他 visitor 共用的类型解析器和模型登记表
+     */
+    public RestVisitorAdapter(Consumer<String> consumer, ResolveSwaggerType resolveSwaggerType) {
         this.consumer = consumer;
+        this.resolveSwaggerType = resolveSwaggerType;
     }
 
     @Override
     public void visit(MethodDeclaration n, Swagger swagger) {
+        if (visitMapping(n, swagger)) {
+            super.visit(n, swagger);
+        }
+    }
+
+    /**
+     * 解析接口方法, 方法上没有映射注解时返回false
+     */
+    boolean visitMapping(MethodDeclaration n, Swagger swagger) {
         List<AnnotationExpr> annotationExprs = n.getAnnotations()
                 .stream()
                 .filter(a -> mappings.contains(a.getNameAsString()))
                 .collect(Collectors.toList());
 
-        if (annotationExprs.isEmpty()) return;
+        if (annotationExprs.isEmpty()) return false;
 
 
         Request request = new Request();
@@ -152,18 +172,27 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
             }
         }
 
-        super.visit(n, swagger);
+        return true;
     }
 
 
     @Override
     public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        if (visitController(n, swagger)) {
+            super.visit(n, swagger);
+        }
+    }
+
+    /**
+     * 登记控制器标签, 不是控制器时返回false
+     */
+    boolean visitController(ClassOrInterfaceDeclaration n, Swagger swagger) {
         List<AnnotationExpr> annotationExprs = n.getAnnotations()
                 .stream()
                 .filter(a -> controllers.contains(a.getNameAsString()))
                 .collect(Collectors.toList());
 
-        if (annotationExprs.isEmpty()) return;
+        if (annotationExprs.isEmpty()) return false;
         String fullName = n.getNameAsString();
         if (basePackage != null && !basePackage.isEmpty()) {
             try {
@@ -171,7 +200,7 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
                 String packageName = resolve.getPackageName();
                 fullName = packageName + "." + n.getNameAsString();
                 if (!basePackage.startsWith(packageName)) {
-                    return;
+                    return false;
                 }
             } catch (Exception ignore) {
 
@@ -183,7 +212,7 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
                 .name(n.getNameAsString());
         swagger.addTag(tag);
         n.getJavadoc().ifPresent(c -> tag.description(StringUtils.isBlank(c.getDescription().toText()) ? null : c.getDescription().toText()));
-        super.visit(n, swagger);
+        return true;
 
     }
 
@@ -351,16 +380,9 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
                 try {
                     ObjectProperty objectProperty = (ObjectProperty) property;
                     if (objectProperty.getProperties() != null && objectProperty.getProperties().size() > 0) {
-                        Map<String, Model> modelMap = SwaggerDocs.getModelMap();
-                        Model mode = modelMap.get(typeName);
+                        Model mode = modelRegistry.get(typeName);
                         if (mode != null) {
-                            boolean isReplace = true;
-                            for (Map.Entry<String, Property> entry : objectProperty.getProperties().entrySet()) {
-                                if (StringUtils.isNotBlank(entry.getValue().getDescription())) {
-                                    isReplace = false;
-                                }
-                            }
-                            if (isReplace) {
+                            if (!ModelRegistry.hasDescriptions(objectProperty.getProperties())) {
                                 objectProperty = new ObjectProperty(mode.getProperties())
                                         .description(mode.getDescription());
                                 property = objectProperty;
@@ -439,16 +461,9 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
                                 if (property instanceof ObjectProperty) {
                                     ObjectProperty objectProperty = (ObjectProperty) property;
                                     if (objectProperty.getProperties() != null && objectProperty.getProperties().size() > 0) {
-                                        Map<String, Model> modelMap = SwaggerDocs.getModelMap();
-                                        Model mode = modelMap.get(typeName);
+                                        Model mode = modelRegistry.get(typeName);
                                         if (mode != null) {
-                                            boolean isReplace = true;
-                                            for (Map.Entry<String, Property> entry : objectProperty.getProperties().entrySet()) {
-                                                if (StringUtils.isNotBlank(entry.getValue().getDescription())) {
-                                                    isReplace = false;
-                                                }
-                                            }
-                                            if (isReplace) {
+                                            if (!ModelRegistry.hasDescriptions(objectProperty.getProperties())) {
                                                 objectProperty = new ObjectProperty(mode.getProperties())
                                                         .description(mode.getDescription());
                                                 property = objectProperty;
@@ -668,6 +683,15 @@ public class RestVisitorAdapter extends VoidVisitorAdapter<Swagger> {
         return this;
     }
 
+    public RestVisitorAdapter setModelRegistry(ModelRegistry modelRegistry) {
+        this.modelRegistry = modelRegistry;
+        return this;
+    }
+
+    public ResolveSwaggerType getResolveSwaggerType() {
+        return resolveSwaggerType;
+    }
+
     public void dependencyVisit(BiConsumer<String, String> consumer){
         resolveSwaggerType.dependencyGraph.visit(consumer);
     }
@@ -0,0 +1,122 @@
+package com.github.wu191287278.maven.swagger.doc.visitor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.github.wu191287278.maven.swagger.doc.ModelRegistry;
+import io.swagger.models.Model;
+import io.swagger.models.Swagger;
+
+/**
+ * 一次遍历同时识别 JAX-RS 和 Spring MVC 注解, 两种接口共用一个类型解析器和模型登记表.
+ * 每个节点只在对应的 visitor 单独遍历时也会访问到它的情况下才交给该 visitor 处理,
+ * 结果与先后执行 {@link JavaxRsVisitorAdapter}、{@link RestVisitorAdapter} 相同
+ *
+ * @author yu.wu
+ */
+public class SwaggerVisitorAdapter extends VoidVisitorAdapter<Swagger> {
+
+    /**
+     * 标记控制器的注解, 没有这些注解的源文件不会生成接口
+     */
+    public static final List<String> CONTROLLER_ANNOTATIONS = Collections.unmodifiableList(
+            Arrays.asList("Controller", "RestController", "FeignClient", "Path"));
+
+    private final ResolveSwaggerType resolveSwaggerType = new ResolveSwaggerType();
+
+    private final JavaxRsVisitorAdapter javaxRsVisitorAdapter = new JavaxRsVisitorAdapter(resolveSwaggerType);
+
+    private final RestVisitorAdapter restVisitorAdapter;
+
+    /**
+     * 当前节点是否在 JAX-RS / Spring MVC 的遍历范围内
+     */
+    private boolean javaxRs = true;
+
+    private boolean rest = true;
+
+    public SwaggerVisitorAdapter() {
+        this(s -> {
+        });
+    }
+
+    public SwaggerVisitorAdapter(Consumer<String> consumer) {
+        this.restVisitorAdapter = new RestVisitorAdapter(consumer, resolveSwaggerType);
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Swagger swagger) {
+        boolean javaxRs = this.javaxRs && javaxRsVisitorAdapter.visitController(n, swagger);
+        boolean rest = this.rest && restVisitorAdapter.visitController(n, swagger);
+        if (javaxRs || rest) {
+            visitChildren(n, swagger, javaxRs, rest);
+        }
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, Swagger swagger) {
+        boolean javaxRs = this.javaxRs && javaxRsVisitorAdapter.visitMapping(n, swagger);
+        boolean rest = this.rest && restVisitorAdapter.visitMapping(n, swagger);
+        if (javaxRs || rest) {
+            visitChildren(n, swagger, javaxRs, rest);
+        }
+    }
+
+    private void visitChildren(ClassOrInterfaceDeclaration n, Swagger swagger, boolean javaxRs, boolean rest) {
+        boolean parentJavaxRs = this.javaxRs;
+        boolean parentRest = this.rest;
+        this.javaxRs = javaxRs;
+        this.rest = rest;
+        try {
+            super.visit(n, swagger);
+        } finally {
+            this.javaxRs = parentJavaxRs;
+            this.rest = parentRest;
+        }
+    }
+
+    private void visitChildren(MethodDeclaration n, Swagger swagger, boolean javaxRs, boolean rest) {
+        boolean parentJavaxRs = this.javaxRs;
+        boolean parentRest = this.rest;
+        this.javaxRs = javaxRs;
+        this.rest = rest;
+        try {
+            super.visit(n, swagger);
+        } finally {
+            this.javaxRs = parentJavaxRs;
+            this.rest = parentRest;
+        }
+    }
+
+    /**
+     * 两种接口引用到的全部模型, 非驼峰模式时属性名转换为下划线
+     */
+    public Map<String, Model> getModelMap() {
+        return restVisitorAdapter.getModelMap();
+    }
+
+    public SwaggerVisitorAdapter setCamel(boolean camel) {
+        restVisitorAdapter.setCamel(camel);
+        return this;
+    }
+
+    public SwaggerVisitorAdapter setBasePackage(String basePackage) {
+        restVisitorAdapter.setBasePackage(basePackage);
+        return this;
+    }
+
+    public SwaggerVisitorAdapter setModelRegistry(ModelRegistry modelRegistry) {
+        restVisitorAdapter.setModelRegistry(modelRegistry);
+        return this;
+    }
+
+    public ResolveSwaggerType getResolveSwaggerType() {
+        return resolveSwaggerType;
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.wu191287278.maven.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author yu.wu
+ */
+public class UpToDateCheckTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private UpToDateCheck upToDateCheck;
+
+    private File json;
+
+    private File dist;
+
+    @Before
+    public void record() throws IOException {
+        json = temporaryFolder.newFile("web.json");
+        FileUtils.writeStringToFile(json, "{\"swagger\":\"2.0\"}", StandardCharsets.UTF_8);
+        dist = temporaryFolder.newFolder("dist");
+        FileUtils.writeStringToFile(new File(dist, "js/ui.js"), "ui", StandardCharsets.UTF_8);
+        upToDateCheck = new UpToDateCheck(new File(temporaryFolder.getRoot(), "cache/generate.json"));
+        upToDateCheck.record("inputs", "models", Arrays.asList(json, dist));
+    }
+
+    @Test
+    public void upToDate() {
+        assertTrue(upToDateCheck.isUpToDate("inputs", () -> "models"));
+        assertFalse(upToDateCheck.isUpToDate("changed inputs", () -> "models"));
+    }
+
+    @Test
+    public void modelsComparedLast() {
+        AtomicInteger fetched = new AtomicInteger();
+        assertFalse(upToDateCheck.isUpToDate("changed inputs", () -> {
+            fetched.incrementAndGet();
+            return "models";
+        }));
+        assertTrue(json.delete());
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> {
+            fetched.incrementAndGet();
+            return "models";
+        }));
+        assertEquals("models are not needed when inputs or outputs changed", 0, fetched.get());
+    }
+
+    @Test
+    public void modelsChanged() {
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "changed models"));
+        assertFalse("remote model fetch failed", upToDateCheck.isUpToDate("inputs", () -> null));
+    }
+
+    @Test
+    public void outputEdited() throws IOException {
+        FileUtils.writeStringToFile(json, "{\"swagger\":\"2.1\"}", StandardCharsets.UTF_8);
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "models"));
+    }
+
+    @Test
+    public void outputTruncated() throws IOException {
+        FileUtils.writeStringToFile(json, "", StandardCharsets.UTF_8);
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "models"));
+    }
+
+    @Test
+    public void outputDeleted() {
+        assertTrue(json.delete());
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "models"));
+    }
+
+    @Test
+    public void directoryChanged() throws IOException {
+        FileUtils.writeStringToFile(new File(dist, "js/extra.js"), "", StandardCharsets.UTF_8);
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "models"));
+    }
+
+    @Test
+    public void invalidated() {
+        upToDateCheck.invalidate();
+        assertFalse(upToDateCheck.isUpToDate("inputs", () -> "models"));
+    }
+}
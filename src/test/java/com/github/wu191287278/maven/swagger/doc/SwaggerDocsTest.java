@@ -0,0 +1,172 @@
+package com.github.wu191287278.maven.swagger.doc;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import io.swagger.models.Swagger;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author yu.wu
+ */
+public class SwaggerDocsTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final SwaggerWriter swaggerWriter = new SwaggerWriter(true);
+
+    /**
+     * 各线程的类型解析缓存互相独立, 先解析到哪个类型由分配到的源文件决定, 输出不能因此不同
+     */
+    @Test
+    public void sameOutputForAnyThreadCount() throws Exception {
+        byte[] expected = swaggerWriter.toBytes(parse("single", 1).get("app"));
+        for (int threads = 2; threads <= 4; threads++) {
+            Swagger swagger = parse("single", threads).get("app");
+            assertNotNull(swagger);
+            assertArrayEquals("threads=" + threads, expected, swaggerWriter.toBytes(swagger));
+        }
+    }
+
+    /**
+     * 所有模块的源文件由同一组线程领取, 每个模块的输出仍与线程数无关
+     */
+    @Test
+    public void sameModulesForAnyThreadCount() throws Exception {
+        Map<String, Swagger> expected = parse("users", 1);
+        assertEquals(Arrays.asList("rs", "web"), new ArrayList<>(expected.keySet()));
+        for (int threads = 2; threads <= 4; threads++) {
+            assertSameSpecs("threads=" + threads, expected, parse("users", threads));
+        }
+    }
+
+    /**
+     * 按需解析与预先解析所有源文件的输出相同, 语法树存储容量很小、需要淘汰后重新解析时也相同
+     */
+    @Test
+    public void sameOutputForLazyAndEagerParsing() throws Exception {
+        for (String fixture : Arrays.asList("users", "single")) {
+            Map<String, Swagger> expected = parse(fixture, true, 10000);
+            assertSameSpecs(fixture + ", eager", expected, parse(fixture, false, 10000));
+            assertSameSpecs(fixture + ", lazy, capacity=2", expected, parse(fixture, true, 2));
+            assertSameSpecs(fixture + ", eager, capacity=2", expected, parse(fixture, false, 2));
+        }
+    }
+
+    /**
+     * 缓存的片段与重新解析的结果一致: 第一次和第二次使用缓存的输出相同,
+     * 修改父类字段、删除源文件、只更新修改时间之后也与不使用缓存的结果相同
+     */
+    @Test
+    public void cachedRunMatchesFreshRun() throws Exception {
+        File root = temporaryFolder.newFolder("users");
+        FileUtils.copyDirectory(fixture("users"), root);
+        File cacheDirectory = temporaryFolder.newFolder("cache");
+
+        Map<String, Swagger> cold = parseCached(root, cacheDirectory);
+        assertSameSpecs("cold", parseCached(root, null), cold);
+        assertSameSpecs("warm", cold, parseCached(root, cacheDirectory));
+
+        File baseEntity = new File(root, "common/src/main/java/com/demo/common/BaseEntity.java");
+        String source = FileUtils.readFileToString(baseEntity, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(baseEntity, source.replace("private String tenant;", "private String tenantCode;"), StandardCharsets.UTF_8);
+        Map<String, Swagger> edited = parseCached(root, cacheDirectory);
+        assertSameSpecs("parent field edited", parseCached(root, null), edited);
+        assertTrue(new String(swaggerWriter.toBytes(edited.get("web")), StandardCharsets.UTF_8).contains("tenantCode"));
+
+        FileUtils.forceDelete(new File(root, "web/src/main/java/com/demo/web/Helper.java"));
+        assertSameSpecs("helper deleted", parseCached(root, null), parseCached(root, cacheDirectory));
+
+        File controller = new File(root, "web/src/main/java/com/demo/web/UserController.java");
+        assertTrue(controller.setLastModified(controller.lastModified() + 60_000));
+        assertSameSpecs("controller touched", parseCached(root, null), parseCached(root, cacheDirectory));
+    }
+
+    /**
+     * 只有外部模型变化时, 使用缓存的源文件也要重新解析
+     */
+    @Test
+    public void cachedRunFollowsExternalModels() throws Exception {
+        File root = temporaryFolder.newFolder("users");
+        FileUtils.copyDirectory(fixture("users"), root);
+        File web = new File(root, "web/src/main/java/com/demo/web");
+        FileUtils.writeStringToFile(new File(web, "Query.java"),
+                "package com.demo.web;\npublic class Query {\n    private String keyword;\n}\n", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(new File(web, "SearchController.java"), "package com.demo.web;\n"
+                + "@RestController\npublic class SearchController {\n"
+                + "    @GetMapping(\"/search\")\n    public String search(Query query) { return null; }\n}\n", StandardCharsets.UTF_8);
+        File models = temporaryFolder.newFolder("models");
+        ClassLoader classLoader = new URLClassLoader(new URL[]{models.toURI().toURL()}, null);
+        File cacheDirectory = temporaryFolder.newFolder("cache");
+
+        writeModels(models, "first keyword");
+        Map<String, Swagger> cold = parseCached(root, cacheDirectory, new ModelRegistry("classpath:models.json", classLoader, null));
+        assertTrue(new String(swaggerWriter.toBytes(cold.get("web")), StandardCharsets.UTF_8).contains("first keyword"));
+
+        writeModels(models, "second keyword");
+        Map<String, Swagger> warm = parseCached(root, cacheDirectory, new ModelRegistry("classpath:models.json", classLoader, null));
+        assertSameSpecs("models changed", parseCached(root, null, new ModelRegistry("classpath:models.json", classLoader, null)), warm);
+        assertTrue(new String(swaggerWriter.toBytes(warm.get("web")), StandardCharsets.UTF_8).contains("second keyword"));
+    }
+
+    private static void writeModels(File directory, String description) throws IOException {
+        FileUtils.writeStringToFile(new File(directory, "models.json"), "{\"swagger\":\"2.0\",\"info\":{\"title\":\"models\",\"version\":\"1\"},"
+                + "\"paths\":{},\"definitions\":{\"Query\":{\"type\":\"object\",\"properties\":"
+                + "{\"keyword\":{\"type\":\"string\",\"description\":\"" + description + "\"}}}}}", StandardCharsets.UTF_8);
+    }
+
+    private void assertSameSpecs(String message, Map<String, Swagger> expected, Map<String, Swagger> actual) throws IOException {
+        assertEquals(message, expected.keySet(), actual.keySet());
+        for (Map.Entry<String, Swagger> entry : expected.entrySet()) {
+            assertArrayEquals(message + ", module=" + entry.getKey(),
+                    swaggerWriter.toBytes(entry.getValue()), swaggerWriter.toBytes(actual.get(entry.getKey())));
+        }
+    }
+
+    private static Map<String, Swagger> parse(String fixture, int threads) throws Exception {
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        swaggerDocs.setThreads(threads);
+        return parse(fixture(fixture), swaggerDocs);
+    }
+
+    private static Map<String, Swagger> parse(String fixture, boolean lazy, int compilationUnitCacheSize) throws Exception {
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        swaggerDocs.setThreads(1);
+        swaggerDocs.setLazy(lazy);
+        swaggerDocs.setCompilationUnitCacheSize(compilationUnitCacheSize);
+        return parse(fixture(fixture), swaggerDocs);
+    }
+
+    private static Map<String, Swagger> parseCached(File root, File cacheDirectory) {
+        return parseCached(root, cacheDirectory, null);
+    }
+
+    private static Map<String, Swagger> parseCached(File root, File cacheDirectory, ModelRegistry modelRegistry) {
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        swaggerDocs.setThreads(1);
+        swaggerDocs.setCacheDirectory(cacheDirectory);
+        swaggerDocs.setModelRegistry(modelRegistry);
+        return parse(root, swaggerDocs);
+    }
+
+    private static Map<String, Swagger> parse(File root, SwaggerDocs swaggerDocs) {
+        return swaggerDocs.parse(root.getAbsolutePath(), "", "", new ArrayList<>(), c -> {
+        });
+    }
+
+    private static File fixture(String name) throws Exception {
+        return new File(SwaggerDocsTest.class.getResource("/fixtures/" + name).toURI());
+    }
+}
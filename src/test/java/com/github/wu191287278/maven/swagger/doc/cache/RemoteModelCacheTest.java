@@ -0,0 +1,196 @@
+package com.github.wu191287278.maven.swagger.doc.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.swagger.models.Swagger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * 用进程内的 HttpServer 模拟 modelPath 服务
+ *
+ * @author yu.wu
+ */
+public class RemoteModelCacheTest {
+
+    private static final String LAST_MODIFIED = "Sun, 18 Oct 2026 10:00:00 GMT";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private HttpServer server;
+
+    private String url;
+
+    private final List<Headers> requests = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private volatile String etag = "\"v1\"";
+
+    private volatile String body = document("User");
+
+    private volatile int status = 200;
+
+    private volatile boolean hang;
+
+    @Before
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "model-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/models.json", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/models.json";
+    }
+
+    @After
+    public void stop() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.add(exchange.getRequestHeaders());
+        if (hang) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (status != 200) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Test
+    public void fetchesEachUrlOnce() {
+        try (RemoteModelCache cache = new RemoteModelCache(null)) {
+            cache.prefetch(url + ", classpath:models.json");
+            Swagger swagger = cache.getSwagger(url);
+            assertNotNull(swagger.getDefinitions().get("User"));
+            assertSame(swagger, cache.getSwagger(url));
+            assertEquals(body, cache.getBody(url));
+        }
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void revalidatesWithEtagAndLastModified() throws IOException {
+        File directory = temporaryFolder.newFolder("models");
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            assertEquals(body, cache.getBody(url));
+        }
+        assertNull(requests.get(0).getFirst("If-None-Match"));
+
+        String first = body;
+        body = document("Changed");
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            assertEquals("not modified, cached copy", first, cache.getBody(url));
+            assertNotNull(cache.getSwagger(url).getDefinitions().get("User"));
+        }
+        assertEquals("\"v1\"", requests.get(1).getFirst("If-None-Match"));
+        assertEquals(LAST_MODIFIED, requests.get(1).getFirst("If-Modified-Since"));
+
+        etag = "\"v2\"";
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            assertNotNull(cache.getSwagger(url).getDefinitions().get("Changed"));
+        }
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            assertEquals(body, cache.getBody(url));
+        }
+        assertEquals("\"v2\"", requests.get(3).getFirst("If-None-Match"));
+    }
+
+    @Test
+    public void usesCachedCopyWhenServerFails() throws IOException {
+        File directory = temporaryFolder.newFolder("models");
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            cache.getBody(url);
+        }
+        status = 500;
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            assertEquals(body, cache.getBody(url));
+        }
+        try (RemoteModelCache cache = new RemoteModelCache(null)) {
+            assertNull(cache.getBody(url));
+            assertNull(cache.getSwagger(url));
+        }
+    }
+
+    @Test
+    public void readTimeout() throws IOException {
+        File directory = temporaryFolder.newFolder("models");
+        try (RemoteModelCache cache = new RemoteModelCache(directory)) {
+            cache.getBody(url);
+        }
+        hang = true;
+        long start = System.nanoTime();
+        try (RemoteModelCache cache = new RemoteModelCache(directory).setReadTimeout(300)) {
+            assertEquals("timed out, cached copy", body, cache.getBody(url));
+        }
+        try (RemoteModelCache cache = new RemoteModelCache(null).setReadTimeout(300)) {
+            assertNull(cache.getBody(url));
+        }
+        assertTrue("read timeout not applied", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void closeStopsFetchThreads() throws InterruptedException {
+        RemoteModelCache cache = new RemoteModelCache(null);
+        assertEquals(body, cache.getBody(url));
+        assertTrue(fetchThreads() > 0);
+        cache.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fetchThreads() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, fetchThreads());
+    }
+
+    private static long fetchThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.isAlive() && "swagger-model-fetch".equals(t.getName()))
+                .count();
+    }
+
+    private static String document(String model) {
+        return "{\"swagger\":\"2.0\",\"info\":{\"title\":\"models\",\"version\":\"1\"},\"paths\":{},"
+                + "\"definitions\":{\"" + model + "\":{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"integer\"}}}}}";
+    }
+}
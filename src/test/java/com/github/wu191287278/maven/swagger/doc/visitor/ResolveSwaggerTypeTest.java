@@ -0,0 +1,51 @@
+package com.github.wu191287278.maven.swagger.doc.visitor;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.wu191287278.maven.swagger.doc.SwaggerDocs;
+import com.github.wu191287278.maven.swagger.doc.SwaggerWriter;
+import io.swagger.models.Swagger;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author yu.wu
+ */
+public class ResolveSwaggerTypeTest {
+
+    /**
+     * Group.members -&gt; List&lt;User&gt;, User.reports -&gt; List&lt;User&gt;: 先解析 Group 时 List&lt;User&gt; 正在解析中,
+     * User.reports 仍然要引用 User
+     */
+    @Test
+    public void selfReferencingCollection() throws Exception {
+        JsonNode definitions = definitions("web");
+
+        JsonNode reports = definitions.path("User").path("properties").path("reports");
+        assertEquals("array", reports.path("type").asText());
+        assertEquals("#/definitions/User", reports.path("items").path("$ref").asText());
+        assertEquals("reports", reports.path("description").asText().trim());
+
+        JsonNode members = definitions.path("Group").path("properties").path("members");
+        assertEquals("array", members.path("type").asText());
+        assertEquals("#/definitions/User", members.path("items").path("$ref").asText());
+
+        assertEquals("#/definitions/User", definitions.path("User").path("properties").path("manager").path("$ref").asText());
+        assertEquals("#/definitions/Group", definitions.path("User").path("properties").path("group").path("$ref").asText());
+    }
+
+    private static JsonNode definitions(String module) throws Exception {
+        SwaggerDocs swaggerDocs = new SwaggerDocs();
+        swaggerDocs.setThreads(1);
+        File root = new File(ResolveSwaggerTypeTest.class.getResource("/fixtures/users").toURI());
+        Map<String, Swagger> swaggerMap = swaggerDocs.parse(root.getAbsolutePath(), "", "", new ArrayList<>(), c -> {
+        });
+        byte[] bytes = new SwaggerWriter(true).toBytes(swaggerMap.get(module));
+        return new ObjectMapper().readTree(bytes).path("definitions");
+    }
+}
@@ -0,0 +1,15 @@
+package com.demo.dto;
+import java.util.*;
+/** member */
+public class Member {
+    /** name */
+    private String name;
+    /** mentor */
+    private Member mentor;
+    /** reports */
+    private List<Member> reports;
+    /** teams */
+    private Set<Team> teams;
+    /** roles by team */
+    private Map<String, Role> roles;
+}
@@ -0,0 +1,11 @@
+package com.demo.dto;
+import java.util.*;
+/** tree node */
+public class Node<T> {
+    /** value */
+    private T value;
+    /** parent */
+    private Node<T> parent;
+    /** children */
+    private List<Node<T>> children;
+}
@@ -0,0 +1,8 @@
+package com.demo.dto;
+/** result */
+public class Result<T> {
+    /** code */
+    private int code;
+    /** data */
+    private T data;
+}
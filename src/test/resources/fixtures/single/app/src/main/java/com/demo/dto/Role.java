@@ -0,0 +1,8 @@
+package com.demo.dto;
+/** role */
+public enum Role {
+    /** owner */
+    OWNER,
+    /** guest */
+    GUEST
+}
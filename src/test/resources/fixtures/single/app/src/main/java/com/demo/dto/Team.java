@@ -0,0 +1,13 @@
+package com.demo.dto;
+import java.util.*;
+/** team */
+public class Team {
+    /** title */
+    private String title;
+    /** members */
+    private List<Member> members;
+    /** lead */
+    private Member lead;
+    /** org chart */
+    private Node<Member> chart;
+}
@@ -0,0 +1,14 @@
+package com.demo.web;
+import java.util.*;
+import com.demo.dto.*;
+/** charts */
+@RestController
+@RequestMapping("/charts")
+public class ChartController {
+    /** team chart */
+    @GetMapping("/teams")
+    public Result<Node<Team>> teams() { return null; }
+    /** member chart */
+    @GetMapping("/members")
+    public Node<Member> members() { return null; }
+}
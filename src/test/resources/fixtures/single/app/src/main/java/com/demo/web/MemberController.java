@@ -0,0 +1,17 @@
+package com.demo.web;
+import java.util.*;
+import com.demo.dto.*;
+/** members */
+@RestController
+@RequestMapping("/members")
+public class MemberController {
+    /** one */
+    @GetMapping("/{id}")
+    public Result<Member> get(@PathVariable("id") Long id) { return null; }
+    /** all */
+    @GetMapping
+    public List<Member> list() { return null; }
+    /** save */
+    @PostMapping
+    public Member save(@RequestBody Member member) { return null; }
+}
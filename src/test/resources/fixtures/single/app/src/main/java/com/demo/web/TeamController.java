@@ -0,0 +1,17 @@
+package com.demo.web;
+import java.util.*;
+import com.demo.dto.*;
+/** teams */
+@RestController
+@RequestMapping("/teams")
+public class TeamController {
+    /** one */
+    @GetMapping("/{id}")
+    public Result<Team> get(@PathVariable("id") Long id) { return null; }
+    /** all */
+    @GetMapping
+    public List<Team> list() { return null; }
+    /** save */
+    @PostMapping
+    public Team save(@RequestBody Team team) { return null; }
+}
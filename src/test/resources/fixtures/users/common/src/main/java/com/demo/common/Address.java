@@ -0,0 +1,7 @@
+package com.demo.common;
+/** address */
+public class Address {
+    /** street */
+    private String street;
+    private Integer zip;
+}
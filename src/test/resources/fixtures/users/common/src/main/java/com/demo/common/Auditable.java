@@ -0,0 +1,6 @@
+package com.demo.common;
+/** auditable */
+public class Auditable extends BaseEntity {
+    /** who */
+    private String createdBy;
+}
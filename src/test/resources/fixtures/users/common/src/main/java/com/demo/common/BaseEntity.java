@@ -0,0 +1,10 @@
+package com.demo.common;
+/** base */
+public class BaseEntity {
+    /** id doc */
+    private Long id;
+    /** created */
+    private java.util.Date createdAt;
+    /** tenant */
+    private String tenant;
+}
@@ -0,0 +1,9 @@
+package com.demo.common;
+import java.util.*;
+/** group */
+public class Group extends BaseEntity {
+    /** members */
+    private List<User> members;
+    /** title */
+    private String title;
+}
@@ -0,0 +1,7 @@
+package com.demo.common;
+public class Holder {
+    private String x;
+}
+class Extra {
+    private String y;
+}
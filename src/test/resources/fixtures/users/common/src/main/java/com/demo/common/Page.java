@@ -0,0 +1,9 @@
+package com.demo.common;
+import java.util.List;
+/** page */
+public class Page<T> {
+    /** total */
+    private long total;
+    /** items */
+    private List<T> items;
+}
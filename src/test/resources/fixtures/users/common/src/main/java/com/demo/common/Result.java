@@ -0,0 +1,8 @@
+package com.demo.common;
+/** result */
+public class Result<T> {
+    /** code */
+    private int code;
+    /** data */
+    private T data;
+}
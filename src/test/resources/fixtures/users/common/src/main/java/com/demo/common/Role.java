@@ -0,0 +1,8 @@
+package com.demo.common;
+/** role */
+public class Role {
+    /** role name */
+    private String name;
+    /** level */
+    private Integer level;
+}
@@ -0,0 +1,8 @@
+package com.demo.common;
+/** status */
+public enum Status {
+    /** active one */
+    ACTIVE,
+    /** gone */
+    DELETED
+}
@@ -0,0 +1,24 @@
+package com.demo.common;
+import java.util.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javax.validation.constraints.NotNull;
+/** A user */
+public class User extends Auditable {
+    /** user name */
+    @NotNull
+    private String name;
+    @JsonProperty("mail_addr")
+    private String email;
+    /** manager */
+    private User manager;
+    /** reports */
+    private List<User> reports;
+    /** roles */
+    private Set<Role> roles;
+    /** status */
+    private Status status;
+    /** attrs */
+    private Map<String, Address> addresses;
+    /** group */
+    private Group group;
+}
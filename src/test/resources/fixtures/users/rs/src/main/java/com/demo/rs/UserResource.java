@@ -0,0 +1,17 @@
+package com.demo.rs;
+import java.util.*;
+import com.demo.common.*;
+/** rs users */
+@Path("/rs/users")
+public class UserResource {
+    /** get */
+    @GET
+    @Path("/{id}")
+    public Result<User> get(@PathParam("id") Long id) { return null; }
+    /** page */
+    @GET
+    @Path("/page")
+    public Page<Group> page(@QueryParam("n") Integer n) { return null; }
+    @POST
+    public Address post(Address a) { return null; }
+}
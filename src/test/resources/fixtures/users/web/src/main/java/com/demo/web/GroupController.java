@@ -0,0 +1,13 @@
+package com.demo.web;
+import java.util.*;
+import com.demo.common.*;
+/** group api */
+@RestController
+@RequestMapping("/groups")
+public class GroupController {
+    /** one group */
+    @GetMapping("/{id}")
+    public Result<Group> get(@PathVariable("id") Long id) { return null; }
+    @PostMapping("/{id}/role")
+    public Set<Role> roles(@RequestBody Role role) { return null; }
+}
@@ -0,0 +1,5 @@
+package com.demo.web;
+import com.demo.common.*;
+public class Helper {
+    public User make() { return null; }
+}
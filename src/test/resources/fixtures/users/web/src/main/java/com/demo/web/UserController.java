@@ -0,0 +1,25 @@
+package com.demo.web;
+import java.util.*;
+import com.demo.common.*;
+/** users api */
+@RestController
+@RequestMapping("/users")
+public class UserController {
+    /**
+     * get one
+     * @param id the id
+     */
+    @GetMapping("/{id}")
+    public Result<User> get(@PathVariable("id") Long id) { return null; }
+    /** list */
+    @GetMapping
+    public Result<Page<User>> list(@RequestParam("q") String q, Status status) { return null; }
+    /** create */
+    @PostMapping
+    public Result<User> create(@RequestBody User user) { return null; }
+    /** groups */
+    @GetMapping("/groups")
+    public List<Group> groups() { return null; }
+    @PutMapping("/{id}/addr")
+    public Map<String, Address> addr(@PathVariable("id") Long id, @RequestBody Address a) { return null; }
+}